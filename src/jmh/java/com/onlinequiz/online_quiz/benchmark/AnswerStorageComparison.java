@@ -0,0 +1,201 @@
+package com.onlinequiz.online_quiz.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.onlinequiz.online_quiz.dto.AnswerDTO;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
+import com.onlinequiz.online_quiz.service.AttemptService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Write amplification and storage size of the two answer storage modes (quiz.answers.storage).
+// Runs the same workload once per mode on a file-based H2 database: start every attempt, answer
+// questions, submit. Reports per operation the SQL statements, entity rows written and bytes the
+// database wrote to its file, then the space used by the attempts and answers tables.
+//
+//   ./mvnw -Pbenchmark test-compile exec:exec@answer-storage
+//   ./mvnw -Pbenchmark test-compile exec:exec@answer-storage -Dstorage.args="--attempts 500 --questions 200"
+//
+// Options: --attempts (200), --questions (100), --answers per attempt (all questions),
+// --modes (rows,vector), --output (target/answer-storage-result.json). Rows written counts inserts and
+// updates of entities; the bulk grading UPDATE of the rows mode also rewrites every answer row of the
+// attempt, which only shows up in the bytes written. Sizes are H2's; on PostgreSQL compare
+// pg_total_relation_size('answers') and pg_total_relation_size('attempts') after the same workload.
+public class AnswerStorageComparison {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final int attempts;
+    private final int questions;
+    private final int answers;
+
+    private AnswerStorageComparison(int attempts, int questions, int answers) {
+        this.attempts = attempts;
+        this.questions = questions;
+        this.answers = answers;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int questions = Integer.parseInt(options.getOrDefault("questions", "100"));
+        AnswerStorageComparison comparison = new AnswerStorageComparison(
+                Integer.parseInt(options.getOrDefault("attempts", "200")),
+                questions,
+                Integer.parseInt(options.getOrDefault("answers", String.valueOf(questions))));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String mode : options.getOrDefault("modes", "rows,vector").split(",")) {
+            results.add(comparison.run(mode.trim()));
+        }
+
+        File output = new File(options.getOrDefault("output", "target/answer-storage-result.json"));
+        output.getParentFile().mkdirs();
+        MAPPER.enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, results);
+
+        System.out.printf("%-8s %-8s %12s %12s %14s%n", "mode", "op", "statements", "rows written", "bytes written");
+        for (Map<String, Object> result : results) {
+            for (String operation : List.of("start", "answer", "submit")) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> phase = (Map<String, Object>) result.get(operation);
+                System.out.printf("%-8s %-8s %12.2f %12.2f %14.1f%n", result.get("mode"), operation,
+                        phase.get("statementsPerOperation"), phase.get("rowsWrittenPerOperation"),
+                        phase.get("bytesWrittenPerOperation"));
+            }
+        }
+        System.out.printf("%n%-8s %12s %14s %14s %16s%n", "mode", "answer rows", "answers bytes", "attempts bytes", "bytes/attempt");
+        for (Map<String, Object> result : results) {
+            System.out.printf("%-8s %12d %14d %14d %16.1f%n", result.get("mode"), result.get("answerRows"),
+                    result.get("answersTableBytes"), result.get("attemptsTableBytes"), result.get("bytesPerAttempt"));
+        }
+        System.out.println("Results written to " + output.getPath());
+    }
+
+    private Map<String, Object> run(String mode) throws Exception {
+        if (!mode.equals("rows") && !mode.equals("vector")) {
+            throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        Path directory = Files.createTempDirectory("quiz_storage_" + mode);
+        // A system property, as the test application.properties on the classpath overrides the defaults
+        System.setProperty("spring.datasource.url",
+                "jdbc:h2:file:" + directory.resolve("quiz") + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(WebApplicationType.NONE,
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "quiz.stats.flush-interval=1h",
+                "quiz.answers.storage=" + mode)) {
+            AttemptService attemptService = context.getBean(AttemptService.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            Long assignmentId = BenchmarkApplication.createOpenAssignment(context, questions).getId();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("mode", mode);
+            result.put("attempts", attempts);
+            result.put("questions", questions);
+
+            List<AttemptDTO> started = new ArrayList<>(attempts);
+            Phase phase = new Phase(statistics, jdbcTemplate);
+            for (int i = 0; i < attempts; i++) {
+                started.add(attemptService.startAttempt(assignmentId));
+            }
+            result.put("start", phase.finish(attempts));
+
+            phase = new Phase(statistics, jdbcTemplate);
+            int answered = 0;
+            for (AttemptDTO attempt : started) {
+                List<AnswerDTO> rows = attempt.getAnswers();
+                for (int i = 0; i < answers && i < rows.size(); i++) {
+                    SubmitAnswerDTO submit = new SubmitAnswerDTO();
+                    submit.setQuestionId(rows.get(i).getQuestionId());
+                    submit.setSelectedAnswer(i % 4 + 1);
+                    submit.setMarkedForReview(i % 7 == 0);
+                    attemptService.submitAnswer(attempt.getId(), submit);
+                    answered++;
+                }
+            }
+            result.put("answer", phase.finish(answered));
+
+            phase = new Phase(statistics, jdbcTemplate);
+            for (AttemptDTO attempt : started) {
+                attemptService.submitAttempt(attempt.getId(), false);
+            }
+            result.put("submit", phase.finish(attempts));
+
+            long answersBytes = diskSpaceUsed(jdbcTemplate, "answers");
+            long attemptsBytes = diskSpaceUsed(jdbcTemplate, "attempts");
+            result.put("answerRows", jdbcTemplate.queryForObject("SELECT COUNT(*) FROM answers", Long.class));
+            result.put("answersTableBytes", answersBytes);
+            result.put("attemptsTableBytes", attemptsBytes);
+            result.put("bytesPerAttempt", (answersBytes + attemptsBytes) / (double) attempts);
+            return result;
+        } finally {
+            System.clearProperty("spring.datasource.url");
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static long diskSpaceUsed(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED(?)", Long.class, table);
+    }
+
+    // Counters of one phase of the workload, from Hibernate statistics and H2's file write counter
+    private static final class Phase {
+        private final Statistics statistics;
+        private final JdbcTemplate jdbcTemplate;
+        private final long bytesWrittenBefore;
+
+        Phase(Statistics statistics, JdbcTemplate jdbcTemplate) {
+            this.statistics = statistics;
+            this.jdbcTemplate = jdbcTemplate;
+            this.bytesWrittenBefore = fileWriteBytes();
+            statistics.clear();
+        }
+
+        Map<String, Object> finish(int operations) {
+            long statements = statistics.getPrepareStatementCount();
+            long rowsWritten = statistics.getEntityInsertCount() + statistics.getEntityUpdateCount();
+            long bytesWritten = fileWriteBytes() - bytesWrittenBefore;
+
+            Map<String, Object> phase = new LinkedHashMap<>();
+            phase.put("operations", operations);
+            phase.put("statementsPerOperation", statements / (double) operations);
+            phase.put("rowsWrittenPerOperation", rowsWritten / (double) operations);
+            phase.put("bytesWrittenPerOperation", bytesWritten / (double) operations);
+            return phase;
+        }
+
+        // Bytes written to the database file so far; the checkpoint writes out changes still in memory
+        private long fileWriteBytes() {
+            jdbcTemplate.execute("CHECKPOINT");
+            return jdbcTemplate.queryForObject("SELECT CAST(SETTING_VALUE AS BIGINT) FROM INFORMATION_SCHEMA.SETTINGS "
+                    + "WHERE SETTING_NAME = 'info.FILE_WRITE_BYTES'", Long.class);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,44 @@
+package com.onlinequiz.online_quiz.benchmark;
+
+import com.onlinequiz.online_quiz.dto.AssignmentDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Assignment detail (AssignmentService.convertToDTO on the cached snapshot) and its serialization
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentBenchmark {
+
+    @State(Scope.Thread)
+    public static class LoadedAssignment {
+        AssignmentDTO assignment;
+
+        @Setup
+        public void load(QuizState quiz) {
+            assignment = quiz.assignmentService.getAssignmentById(quiz.assignmentId);
+        }
+    }
+
+    @Benchmark
+    public AssignmentDTO assignmentDetail(QuizState quiz) {
+        return quiz.assignmentService.getAssignmentById(quiz.assignmentId);
+    }
+
+    @Benchmark
+    public byte[] serializeAssignment(QuizState quiz, LoadedAssignment loaded) throws Exception {
+        return quiz.objectMapper.writeValueAsBytes(loaded.assignment);
+    }
+}
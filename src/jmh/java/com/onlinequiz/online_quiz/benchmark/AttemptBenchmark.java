@@ -0,0 +1,102 @@
+package com.onlinequiz.online_quiz.benchmark;
+
+import com.onlinequiz.online_quiz.dto.AnswerDTO;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.QuestionDTO;
+import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Attempt lifecycle: start, answer, submit, read back and serialize the result.
+// Thread count is set on the command line (-t), question count with -p questionCount=...
+// and per-attempt shuffling with -p shuffle=false,true
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttemptBenchmark {
+
+    // One in-progress attempt per benchmark thread, replaced every iteration
+    @State(Scope.Thread)
+    public static class RunningAttempt {
+        AttemptDTO attempt;
+        List<AnswerDTO> answers;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void start(QuizState quiz) {
+            attempt = quiz.attemptService.startAttempt(quiz.assignmentId);
+            answers = attempt.getAnswers();
+        }
+
+        SubmitAnswerDTO nextAnswer() {
+            AnswerDTO answer = answers.get(next++ % answers.size());
+            SubmitAnswerDTO submit = new SubmitAnswerDTO();
+            submit.setQuestionId(answer.getQuestionId());
+            submit.setSelectedAnswer(next % 4 + 1);
+            submit.setMarkedForReview(next % 7 == 0);
+            return submit;
+        }
+    }
+
+    // A fully answered attempt, prepared outside the measurement for each submit
+    @State(Scope.Thread)
+    public static class AnsweredAttempt {
+        Long attemptId;
+
+        @Setup(Level.Invocation)
+        public void prepare(QuizState quiz) {
+            AttemptDTO attempt = quiz.attemptService.startAttempt(quiz.assignmentId);
+            for (AnswerDTO answer : attempt.getAnswers()) {
+                SubmitAnswerDTO submit = new SubmitAnswerDTO();
+                submit.setQuestionId(answer.getQuestionId());
+                submit.setSelectedAnswer((int) (answer.getQuestionId() % 4) + 1);
+                quiz.attemptService.submitAnswer(attempt.getId(), submit);
+            }
+            attemptId = attempt.getId();
+        }
+    }
+
+    @Benchmark
+    public AttemptDTO startAttempt(QuizState quiz) {
+        return quiz.attemptService.startAttempt(quiz.assignmentId);
+    }
+
+    @Benchmark
+    public AnswerDTO submitAnswer(QuizState quiz, RunningAttempt running) {
+        return quiz.attemptService.submitAnswer(running.attempt.getId(), running.nextAnswer());
+    }
+
+    @Benchmark
+    public AttemptDTO submitAttempt(QuizState quiz, AnsweredAttempt answered) {
+        return quiz.attemptService.submitAttempt(answered.attemptId, false);
+    }
+
+    @Benchmark
+    public AttemptDTO attemptDetail(QuizState quiz, RunningAttempt running) {
+        return quiz.attemptService.getAttemptById(running.attempt.getId());
+    }
+
+    @Benchmark
+    public List<QuestionDTO> attemptQuestions(QuizState quiz, RunningAttempt running) {
+        return quiz.attemptService.getAttemptQuestions(running.attempt.getId());
+    }
+
+    @Benchmark
+    public byte[] serializeAttempt(QuizState quiz, RunningAttempt running) throws Exception {
+        return quiz.objectMapper.writeValueAsBytes(running.attempt);
+    }
+}
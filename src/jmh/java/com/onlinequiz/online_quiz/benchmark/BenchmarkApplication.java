@@ -0,0 +1,65 @@
+package com.onlinequiz.online_quiz.benchmark;
+
+import com.onlinequiz.online_quiz.OnlineQuizApplication;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Question;
+import com.onlinequiz.online_quiz.repository.AssignmentRepository;
+import com.onlinequiz.online_quiz.repository.QuestionRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+// Starts the application on a fresh in-memory H2 database for benchmarks and load tests.
+// Admission control is off, so load tests measure the service rather than the configured rate limits
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        return new SpringApplicationBuilder(OnlineQuizApplication.class)
+                .web(webApplicationType)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:quiz_bench_" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "quiz.attempts.expiry.enabled=false",
+                        "quiz.admission.enabled=false")
+                .properties(properties)
+                .run();
+    }
+
+    // An assignment that is open for the next day with questionCount questions
+    static Assignment createOpenAssignment(ConfigurableApplicationContext context, int questionCount) {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question();
+            question.setText("Question " + i);
+            question.setOptionA("A");
+            question.setOptionB("B");
+            question.setOptionC("C");
+            question.setOptionD("D");
+            question.setCorrectOption(i % 4 + 1);
+            question.setDifficulty("EASY");
+            question.setPoints(i % 3 + 1);
+            questions.add(question);
+        }
+        questions = context.getBean(QuestionRepository.class).saveAll(questions);
+
+        Assignment assignment = new Assignment();
+        assignment.setName("Benchmark assignment");
+        assignment.setStartTime(LocalDateTime.now().minusHours(1));
+        assignment.setEndTime(LocalDateTime.now().plusDays(1));
+        assignment.setDuration(24 * 60);
+        assignment.setQuestions(new HashSet<>(questions));
+        return context.getBean(AssignmentRepository.class).save(assignment);
+    }
+}
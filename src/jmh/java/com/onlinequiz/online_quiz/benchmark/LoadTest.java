@@ -0,0 +1,223 @@
+package com.onlinequiz.online_quiz.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+// Exam-start burst: every simulated student starts an attempt at the same moment, answers some
+// questions and submits. Runs the application in-process once per request execution mode (Tomcat's
+// platform-thread pool, then virtual threads) and reports throughput and latency percentiles.
+//
+//   ./mvnw -Pbenchmark test-compile exec:exec@loadtest
+//   ./mvnw -Pbenchmark test-compile exec:exec@loadtest -Dloadtest.args="--students 1000 --answers 5"
+//
+// Options: --students (5000), --questions (20), --answers per student (10), --modes (platform,virtual),
+// --admission (false; true keeps admission control on, which answers much of the burst with 429),
+// --output (target/loadtest-result.json). Client and server share the machine, so compare modes
+// against each other rather than reading the numbers as absolute capacity.
+public class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final int students;
+    private final int questions;
+    private final int answers;
+    private final boolean admission;
+    private final HttpClient client;
+
+    private LoadTest(int students, int questions, int answers, boolean admission) {
+        this.students = students;
+        this.questions = questions;
+        this.answers = answers;
+        this.admission = admission;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        LoadTest loadTest = new LoadTest(
+                Integer.parseInt(options.getOrDefault("students", "5000")),
+                Integer.parseInt(options.getOrDefault("questions", "20")),
+                Integer.parseInt(options.getOrDefault("answers", "10")),
+                Boolean.parseBoolean(options.getOrDefault("admission", "false")));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String mode : options.getOrDefault("modes", "platform,virtual").split(",")) {
+            results.add(loadTest.run(mode.trim()));
+        }
+
+        File output = new File(options.getOrDefault("output", "target/loadtest-result.json"));
+        output.getParentFile().mkdirs();
+        MAPPER.enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, results);
+
+        System.out.printf("%-10s %9s %9s %8s %12s %9s %9s %9s%n",
+                "mode", "students", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Map<String, Object> result : results) {
+            System.out.printf("%-10s %9d %9d %8d %12.1f %9.1f %9.1f %9.1f%n",
+                    result.get("mode"), result.get("students"), result.get("requests"), result.get("errors"),
+                    result.get("throughput"), result.get("p50Ms"), result.get("p99Ms"), result.get("maxMs"));
+        }
+        System.out.println("Results written to " + output.getPath());
+    }
+
+    private Map<String, Object> run(String mode) throws Exception {
+        if (!mode.equals("platform") && !mode.equals("virtual")) {
+            throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                "quiz.admission.enabled=" + admission)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Long assignmentId = BenchmarkApplication.createOpenAssignment(context, questions).getId();
+
+            // One warm-up student so class loading and the snapshot cache are not measured
+            new Student(baseUrl, assignmentId).call();
+
+            LongAdder errors = new LongAdder();
+            CountDownLatch startGate = new CountDownLatch(1);
+            List<Future<long[]>> results = new ArrayList<>(students);
+            long startedAt;
+            long finishedAt;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < students; i++) {
+                    Student student = new Student(baseUrl, assignmentId);
+                    results.add(executor.submit(() -> {
+                        startGate.await();
+                        try {
+                            return student.call();
+                        } catch (Exception e) {
+                            errors.increment();
+                            return student.completedLatencies();
+                        }
+                    }));
+                }
+                startedAt = System.nanoTime();
+                startGate.countDown();
+                for (Future<long[]> result : results) {
+                    result.get();
+                }
+                finishedAt = System.nanoTime();
+            }
+
+            long[] latencies = results.stream()
+                    .map(LoadTest::getQuietly)
+                    .flatMapToLong(Arrays::stream)
+                    .sorted()
+                    .toArray();
+            double seconds = (finishedAt - startedAt) / 1e9;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("mode", mode);
+            result.put("students", students);
+            result.put("requests", latencies.length);
+            result.put("errors", errors.sum());
+            result.put("seconds", seconds);
+            result.put("throughput", latencies.length / seconds);
+            result.put("p50Ms", percentile(latencies, 0.50));
+            result.put("p99Ms", percentile(latencies, 0.99));
+            result.put("maxMs", latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1e6);
+            return result;
+        }
+    }
+
+    // One student: start an attempt, answer the first questions, submit; returns each request's latency in ns
+    private class Student {
+        private final String baseUrl;
+        private final Long assignmentId;
+        private final long[] latencies = new long[answers + 2];
+        private int completed;
+
+        Student(String baseUrl, Long assignmentId) {
+            this.baseUrl = baseUrl;
+            this.assignmentId = assignmentId;
+        }
+
+        long[] call() throws Exception {
+            JsonNode attempt = post("/api/attempts/start/" + assignmentId, null);
+            long attemptId = attempt.get("id").asLong();
+            JsonNode answerRows = attempt.get("answers");
+            for (int i = 0; i < answers && i < answerRows.size(); i++) {
+                Map<String, Object> answer = new HashMap<>();
+                answer.put("questionId", answerRows.get(i).get("questionId").asLong());
+                answer.put("selectedAnswer", i % 4 + 1);
+                answer.put("markedForReview", false);
+                post("/api/attempts/" + attemptId + "/answer", answer);
+            }
+            post("/api/attempts/" + attemptId + "/submit", null);
+            return completedLatencies();
+        }
+
+        long[] completedLatencies() {
+            return Arrays.copyOf(latencies, completed);
+        }
+
+        private JsonNode post(String path, Object body) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofMinutes(2))
+                    .header("Content-Type", "application/json")
+                    .POST(body == null
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+                    .build();
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long latency = System.nanoTime() - start;
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("HTTP " + response.statusCode() + " for " + path);
+            }
+            latencies[completed++] = latency;
+            return MAPPER.readTree(response.body());
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static long[] getQuietly(Future<long[]> result) {
+        try {
+            return result.get();
+        } catch (Exception e) {
+            return new long[0];
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,53 @@
+package com.onlinequiz.online_quiz.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinequiz.online_quiz.service.AssignmentService;
+import com.onlinequiz.online_quiz.service.AttemptService;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Application context on a fresh in-memory H2 database with one open assignment of questionCount questions.
+// Started once per fork and shared by every benchmark thread.
+@State(Scope.Benchmark)
+public class QuizState {
+
+    @Param({"10", "50", "200"})
+    public int questionCount;
+
+    @Param({"false"})
+    public boolean writeBehind;
+
+    @Param({"rows"})
+    public String answerStorage;
+
+    @Param({"false"})
+    public boolean shuffle;
+
+    ConfigurableApplicationContext context;
+    AttemptService attemptService;
+    AssignmentService assignmentService;
+    ObjectMapper objectMapper;
+    Long assignmentId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE,
+                "quiz.answers.write-behind.enabled=" + writeBehind,
+                "quiz.answers.storage=" + answerStorage,
+                "quiz.attempts.shuffle.enabled=" + shuffle);
+        attemptService = context.getBean(AttemptService.class);
+        assignmentService = context.getBean(AssignmentService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        assignmentId = BenchmarkApplication.createOpenAssignment(context, questionCount).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+}
@@ -0,0 +1,181 @@
+package com.onlinequiz.online_quiz.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Admission control for the exam-start burst. Each request passes two token buckets:
+// - a per-client bucket that rejects at once when empty, so one client cannot take the capacity of others
+//   (clients are attempts for answers; for starts the only client identity is the remote address, which a
+//   classroom behind one NAT shares, so the start client limit is off unless quiz.admission.start.per-client)
+// - a shared bucket (per assignment for starts, one for all answers) whose rate is what the connection
+//   pool can sustain; an empty bucket reserves the next token and the request waits for it, as long as
+//   the wait is at most quiz.admission.max-wait and fewer than quiz.admission.queue-size requests wait
+// Everything else is rejected with a Retry-After, before it takes a database connection; a request rejected by
+// the shared bucket gets its client token back.
+// Waiting sleeps on the request thread, so on Tomcat's platform threads the queue must stay below
+// server.tomcat.threads.max or waiting starts could hold every worker; with virtual threads it may be larger.
+// State is per application instance, so the rates are per instance. Off unless quiz.admission.enabled,
+// since the limits have to be sized for the deployment.
+@Component
+public class AdmissionControl {
+
+    public static final String START = "start";
+    public static final String ANSWER = "answer";
+
+    private final Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${quiz.admission.enabled:false}")
+    private boolean enabled;
+
+    @Value("${quiz.admission.start.rate:50}")
+    private double startRate;
+
+    @Value("${quiz.admission.start.burst:100}")
+    private int startBurst;
+
+    @Value("${quiz.admission.answer.rate:500}")
+    private double answerRate;
+
+    @Value("${quiz.admission.answer.burst:1000}")
+    private int answerBurst;
+
+    @Value("${quiz.admission.start.per-client:false}")
+    private boolean startPerClient;
+
+    @Value("${quiz.admission.client.rate:10}")
+    private double clientRate;
+
+    @Value("${quiz.admission.client.burst:30}")
+    private int clientBurst;
+
+    @Value("${quiz.admission.max-wait:2s}")
+    private Duration maxWait;
+
+    @Value("${quiz.admission.queue-size:100}")
+    private int queueSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int maxRequestThreads;
+
+    @PostConstruct
+    void checkQueueSize() {
+        if (enabled && !virtualThreads && queueSize >= maxRequestThreads) {
+            throw new IllegalStateException("quiz.admission.queue-size (" + queueSize + ") must be below server.tomcat.threads.max ("
+                    + maxRequestThreads + ") unless spring.threads.virtual.enabled=true, or waiting requests can hold every request thread");
+        }
+    }
+
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("quiz.admission.queue.depth", waiting, AtomicInteger::get)
+                .description("Requests waiting for an admission token")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isStartPerClient() {
+        return startPerClient;
+    }
+
+    // Admit a request, waiting for a token if needed; a null clientKey skips the client bucket.
+    // Returns 0 when admitted, otherwise the number of seconds after which the client should retry
+    public long admit(String operation, String sharedKey, String clientKey) {
+        long now = System.nanoTime();
+        TokenBucket client = null;
+        if (clientKey != null) {
+            client = bucket(operation + "|client|" + clientKey, clientRate, clientBurst);
+            long clientWait = client.reserve(now, 0);
+            if (clientWait < 0) {
+                return reject(operation, "client", -clientWait);
+            }
+        }
+
+        boolean queued = waiting.incrementAndGet() <= queueSize;
+        try {
+            long wait = bucket(operation + "|" + sharedKey, sharedRate(operation), sharedBurst(operation))
+                    .reserve(now, queued ? maxWait.toNanos() : 0);
+            if (wait < 0) {
+                release(client);
+                return reject(operation, queued ? "rate" : "queue", -wait);
+            }
+            if (wait > 0 && !sleep(wait)) {
+                release(client);
+                return reject(operation, "interrupted", wait);
+            }
+            Timer.builder("quiz.admission.wait")
+                    .description("Time admitted requests waited for a token")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(wait));
+            return 0;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public int getQueueDepth() {
+        return waiting.get();
+    }
+
+    private TokenBucket bucket(String key, double rate, int burst) {
+        return buckets.get(key, k -> new TokenBucket(rate, burst));
+    }
+
+    private void release(TokenBucket client) {
+        if (client != null) {
+            client.release();
+        }
+    }
+
+    private double sharedRate(String operation) {
+        return START.equals(operation) ? startRate : answerRate;
+    }
+
+    private int sharedBurst(String operation) {
+        return START.equals(operation) ? startBurst : answerBurst;
+    }
+
+    private long reject(String operation, String reason, long waitNanos) {
+        Counter.builder("quiz.admission.rejected")
+                .description("Requests rejected with 429 by admission control")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    private boolean sleep(long nanos) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.onlinequiz.online_quiz.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Runs AdmissionControl in front of POST /api/attempts/start/{assignmentId} and POST /api/attempts/{id}/answer,
+// answering 429 Too Many Requests with a Retry-After header when a request is not admitted.
+// Answers are limited per attempt, so students sharing one address do not share an answer limit. Starts carry
+// no student identity, so a per-client start limit can only key on the remote address; it is off by default
+// because a classroom behind one NAT would share it (behind a proxy set server.forward-headers-strategy)
+@Component
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final Pattern START = Pattern.compile("/api/attempts/start/(\\d+)");
+    private static final Pattern ANSWER = Pattern.compile("/api/attempts/(\\d+)/answer");
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admissionControl.isEnabled() || !"POST".equals(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/attempts/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        long retryAfter = 0;
+        Matcher start = START.matcher(uri);
+        if (start.matches()) {
+            String client = admissionControl.isStartPerClient() ? request.getRemoteAddr() : null;
+            retryAfter = admissionControl.admit(AdmissionControl.START, start.group(1), client);
+        } else {
+            Matcher answer = ANSWER.matcher(uri);
+            if (answer.matches()) {
+                // The attempt ID does not name the assignment without a query, so answers share one bucket
+                retryAfter = admissionControl.admit(AdmissionControl.ANSWER, "all", "attempt " + answer.group(1));
+            }
+        }
+
+        if (retryAfter > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+            response.setContentType("text/plain");
+            response.getWriter().write("Too many requests, retry after " + retryAfter + " seconds");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,38 @@
+package com.onlinequiz.online_quiz.admission;
+
+// Token bucket kept as the time the next token is due (GCRA): a full bucket admits `burst` requests
+// at once, then one request every 1/rate seconds. Callers may reserve a future token and wait for it.
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+
+    // Time at which the bucket would be empty again if no more tokens were taken
+    private long emptyAt = Long.MIN_VALUE;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and a burst of at least 1");
+        }
+        this.nanosPerToken = (long) (1_000_000_000L / ratePerSecond);
+        this.burstNanos = nanosPerToken * burst;
+    }
+
+    // Take a token, reserving the next free one if the bucket is empty. Returns the nanoseconds to wait
+    // before using it (0 when one was available), or minus the wait if it would exceed maxWaitNanos,
+    // in which case nothing is reserved
+    public synchronized long reserve(long nowNanos, long maxWaitNanos) {
+        long start = Math.max(emptyAt, nowNanos);
+        long wait = Math.max(0, start + nanosPerToken - burstNanos - nowNanos);
+        if (wait > maxWaitNanos) {
+            return -wait;
+        }
+        emptyAt = start + nanosPerToken;
+        return wait;
+    }
+
+    // Give back a token taken with reserve, for a request that was not admitted after all
+    public synchronized void release() {
+        emptyAt -= nanosPerToken;
+    }
+}
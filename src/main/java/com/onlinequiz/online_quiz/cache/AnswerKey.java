@@ -0,0 +1,52 @@
+package com.onlinequiz.online_quiz.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Compact answer key of one assignment version: parallel primitive arrays sorted by question ID.
+// It is built with its AssignmentSnapshot, so any question or assignment change that evicts the
+// snapshot also replaces the key.
+public final class AnswerKey {
+    private final long[] questionIds;
+    private final byte[] correctOptions;
+    private final int[] points;
+
+    private AnswerKey(List<QuestionSnapshot> questions) {
+        int size = questions.size();
+        this.questionIds = new long[size];
+        this.correctOptions = new byte[size];
+        this.points = new int[size];
+        for (int i = 0; i < size; i++) {
+            QuestionSnapshot question = questions.get(i);
+            questionIds[i] = question.getId();
+            correctOptions[i] = question.getCorrectOption().byteValue();
+            points[i] = question.getPoints();
+        }
+    }
+
+    // Questions must already be sorted by ID
+    static AnswerKey of(List<QuestionSnapshot> sortedQuestions) {
+        return new AnswerKey(sortedQuestions);
+    }
+
+    // Position of the question in the key, or a negative value if it is not part of the assignment
+    public int indexOf(long questionId) {
+        return Arrays.binarySearch(questionIds, questionId);
+    }
+
+    public boolean isCorrect(int index, Integer selectedAnswer) {
+        return selectedAnswer != null && selectedAnswer == correctOptions[index];
+    }
+
+    public int correctOptionAt(int index) {
+        return correctOptions[index];
+    }
+
+    public int pointsAt(int index) {
+        return points[index];
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+}
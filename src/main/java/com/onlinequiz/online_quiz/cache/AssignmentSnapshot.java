@@ -0,0 +1,80 @@
+package com.onlinequiz.online_quiz.cache;
+
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Question;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+// Immutable view of an assignment and its questions (sorted by question ID), safe to share between requests
+public final class AssignmentSnapshot {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final int duration;
+    private final LocalDateTime updatedAt;
+    private final List<QuestionSnapshot> questions;
+    private final int totalPoints;
+    private final AnswerKey answerKey;
+    private final String version;
+
+    private AssignmentSnapshot(Assignment assignment) {
+        this.id = assignment.getId();
+        this.name = assignment.getName();
+        this.description = assignment.getDescription();
+        this.startTime = assignment.getStartTime();
+        this.endTime = assignment.getEndTime();
+        this.duration = assignment.getDuration();
+        this.updatedAt = assignment.getUpdatedAt();
+        this.questions = assignment.getQuestions().stream()
+                .sorted(Comparator.comparing(Question::getId))
+                .map(QuestionSnapshot::of)
+                .toList();
+        this.totalPoints = questions.stream()
+                .mapToInt(QuestionSnapshot::getPoints)
+                .sum();
+        this.answerKey = AnswerKey.of(questions);
+        this.version = computeVersion();
+    }
+
+    // Changes when the assignment, its question set or any of its questions is updated
+    private String computeVersion() {
+        long[] values = new long[2 + 2 * questions.size()];
+        values[0] = id;
+        values[1] = VersionTags.micros(updatedAt);
+        for (int i = 0; i < questions.size(); i++) {
+            values[2 + 2 * i] = questions.get(i).getId();
+            values[3 + 2 * i] = VersionTags.micros(questions.get(i).getUpdatedAt());
+        }
+        return VersionTags.hash(values);
+    }
+
+    public static AssignmentSnapshot of(Assignment assignment) {
+        return new AssignmentSnapshot(assignment);
+    }
+
+    // Check if the assignment window contains the given time
+    public boolean isAvailableAt(LocalDateTime time) {
+        return !time.isBefore(startTime) && !time.isAfter(endTime);
+    }
+
+    public boolean containsQuestion(Long questionId) {
+        return questions.stream().anyMatch(question -> question.getId().equals(questionId));
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public int getDuration() { return duration; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public List<QuestionSnapshot> getQuestions() { return questions; }
+    public int getTotalPoints() { return totalPoints; }
+    public AnswerKey getAnswerKey() { return answerKey; }
+    public String getVersion() { return version; }
+}
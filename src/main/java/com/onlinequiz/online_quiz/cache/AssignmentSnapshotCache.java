@@ -0,0 +1,81 @@
+package com.onlinequiz.online_quiz.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.onlinequiz.online_quiz.repository.AssignmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// Bounded read-through cache of assignment snapshots keyed by assignment ID
+@Component
+public class AssignmentSnapshotCache {
+
+    private final AssignmentRepository assignmentRepository;
+    private final Cache<Long, AssignmentSnapshot> cache;
+
+    @Autowired
+    public AssignmentSnapshotCache(AssignmentRepository assignmentRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${quiz.cache.assignments.max-size:1000}") long maxSize,
+                                   @Value("${quiz.cache.assignments.ttl:10m}") Duration ttl) {
+        this.assignmentRepository = assignmentRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "assignmentSnapshots");
+    }
+
+    // Get the snapshot, loading the assignment with its questions on a miss
+    public AssignmentSnapshot get(Long assignmentId) {
+        return cache.get(assignmentId, this::load);
+    }
+
+    // Reload the snapshot, so it is fresh and has a full TTL ahead of it. Loads under the entry's lock
+    // like get, so an invalidation arriving meanwhile waits and then removes the reloaded snapshot
+    public AssignmentSnapshot refresh(Long assignmentId) {
+        return cache.asMap().compute(assignmentId, (id, current) -> load(id));
+    }
+
+    // Evict one assignment now and again once the surrounding transaction commits,
+    // so a concurrent reader cannot re-cache the pre-update state
+    public void invalidate(Long assignmentId) {
+        cache.invalidate(assignmentId);
+        afterCommit(() -> cache.invalidate(assignmentId));
+    }
+
+    // Evict every cached assignment that contains the question
+    public void invalidateByQuestion(Long questionId) {
+        cache.asMap().values().removeIf(snapshot -> snapshot.containsQuestion(questionId));
+        afterCommit(() -> cache.asMap().values().removeIf(snapshot -> snapshot.containsQuestion(questionId)));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private AssignmentSnapshot load(Long assignmentId) {
+        return assignmentRepository.findByIdWithQuestions(assignmentId)
+                .map(AssignmentSnapshot::of)
+                .orElseThrow(() -> new RuntimeException("Assignment not found with id: " + assignmentId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.onlinequiz.online_quiz.cache;
+
+import com.onlinequiz.online_quiz.entity.Question;
+
+import java.time.LocalDateTime;
+
+// Immutable copy of a question as it belongs to a cached assignment
+public final class QuestionSnapshot {
+    private final Long id;
+    private final String text;
+    private final String optionA;
+    private final String optionB;
+    private final String optionC;
+    private final String optionD;
+    private final Integer correctOption;
+    private final String difficulty;
+    private final int points;
+    private final LocalDateTime updatedAt;
+
+    private QuestionSnapshot(Question question) {
+        this.id = question.getId();
+        this.text = question.getText();
+        this.optionA = question.getOptionA();
+        this.optionB = question.getOptionB();
+        this.optionC = question.getOptionC();
+        this.optionD = question.getOptionD();
+        this.correctOption = question.getCorrectOption();
+        this.difficulty = question.getDifficulty();
+        this.points = question.getPoints();
+        this.updatedAt = question.getUpdatedAt();
+    }
+
+    public static QuestionSnapshot of(Question question) {
+        return new QuestionSnapshot(question);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getText() { return text; }
+    public String getOptionA() { return optionA; }
+    public String getOptionB() { return optionB; }
+    public String getOptionC() { return optionC; }
+    public String getOptionD() { return optionD; }
+    public Integer getCorrectOption() { return correctOption; }
+    public String getDifficulty() { return difficulty; }
+    public int getPoints() { return points; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,29 @@
+package com.onlinequiz.online_quiz.cache;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Compact version strings for HTTP ETags, built from IDs and updatedAt timestamps
+public final class VersionTags {
+
+    private VersionTags() {
+    }
+
+    // Hex string of a 64-bit hash over the given values
+    public static String hash(long... values) {
+        long hash = 1125899906842597L;
+        for (long value : values) {
+            hash = 31 * hash + (value ^ (value >>> 32));
+            hash ^= hash >>> 29;
+        }
+        return Long.toHexString(hash);
+    }
+
+    // Timestamp as microseconds (the column precision); 0 for null
+    public static long micros(LocalDateTime time) {
+        if (time == null) {
+            return 0L;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,55 @@
+package com.onlinequiz.online_quiz.config;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Flyway migration V3: move answers_seq past the existing answer IDs.
+// Answers created while the table used an identity column would otherwise collide with
+// sequence-generated IDs. Written in Java because setval is PostgreSQL-only.
+@Component
+public class AnswerSequenceMigration implements JavaMigration {
+
+    // Must match allocationSize of the answers_seq generator on Answer
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("3");
+    }
+
+    @Override
+    public String getDescription() {
+        return "align answer sequence";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM answers")) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+            if (maxId > 0) {
+                // Hibernate's pooled optimizer hands out the block ending at the fetched value,
+                // so the next value must be a full block above the highest existing ID
+                statement.execute("ALTER SEQUENCE answers_seq RESTART WITH " + (maxId + ALLOCATION_SIZE));
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.onlinequiz.online_quiz.config;
+
+import com.onlinequiz.online_quiz.metrics.RequestStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Service timing: every public method of a class annotated with @Observed(name = "quiz.service") is timed as
+// quiz.service{class, method} and traced when tracing is enabled (needs management.observations.annotations.enabled).
+// Per-request statement counts come from RequestStatementCounter.
+@Configuration
+public class MetricsConfig {
+
+    // Lets RequestStatementMetricsFilter count the statements of each request
+    @Bean
+    public HibernatePropertiesCustomizer requestStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestStatementCounter());
+    }
+}
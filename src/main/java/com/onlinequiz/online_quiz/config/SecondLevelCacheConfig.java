@@ -0,0 +1,51 @@
+package com.onlinequiz.online_quiz.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Hibernate second-level cache regions. Each region is a bounded Caffeine cache; Hibernate keeps them
+// consistent with updates made through the entity manager (READ_WRITE), the TTL bounds staleness from
+// writes that bypass it, such as another application instance.
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Region names used by the @Cache annotations on Question, Assignment and Assignment.questions
+    private static final List<String> REGIONS = List.of("questions", "assignments", "assignment-questions");
+
+    // Own cache manager (one per application context) rather than the provider default,
+    // so the regions always exist with a size bound
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${quiz.cache.entities.max-size:10000}") long maxSize,
+                                           @Value("${quiz.cache.entities.ttl:10m}") Duration ttl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("quiz-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
@@ -1,13 +1,23 @@
 package com.onlinequiz.online_quiz.controller;
 
 import com.onlinequiz.online_quiz.dto.AssignmentDTO;
+import com.onlinequiz.online_quiz.dto.AssignmentStatsDTO;
+import com.onlinequiz.online_quiz.dto.AssignmentSummaryDTO;
 import com.onlinequiz.online_quiz.dto.CreateAssignmentDTO;
+import com.onlinequiz.online_quiz.dto.CursorPageDTO;
+import com.onlinequiz.online_quiz.dto.QuestionStatsDTO;
 import com.onlinequiz.online_quiz.service.AssignmentService;
+import com.onlinequiz.online_quiz.service.AssignmentStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,6 +28,12 @@ public class AssignmentController {
     
     @Autowired
     private AssignmentService assignmentService;
+
+    @Autowired
+    private AssignmentStatsService assignmentStatsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
     
     // Get all assignments
     @GetMapping
@@ -26,6 +42,33 @@ public class AssignmentController {
         return ResponseEntity.ok(assignments);
     }
     
+    // Get all assignments as summaries (question count and total points instead of the questions)
+    @GetMapping("/summary")
+    public ResponseEntity<List<AssignmentSummaryDTO>> getAllAssignmentSummaries() {
+        List<AssignmentSummaryDTO> assignments = assignmentService.getAllAssignmentSummaries();
+        return ResponseEntity.ok(assignments);
+    }
+    
+    // Get one page of assignments, newest first (keyset pagination by ID)
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<AssignmentDTO>> getAssignmentsPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPageDTO<AssignmentDTO> page = assignmentService.getAssignmentsPage(cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+    
+    // Stream all assignments as newline-delimited JSON
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAssignments() {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                assignmentService.streamAssignments(writer::write);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     // Get available assignments
     @GetMapping("/available")
     public ResponseEntity<List<AssignmentDTO>> getAvailableAssignments() {
@@ -33,11 +76,21 @@ public class AssignmentController {
         return ResponseEntity.ok(assignments);
     }
     
-    // Get assignment by ID
+    // Get available assignments as summaries
+    @GetMapping("/available/summary")
+    public ResponseEntity<List<AssignmentSummaryDTO>> getAvailableAssignmentSummaries() {
+        List<AssignmentSummaryDTO> assignments = assignmentService.getAvailableAssignmentSummaries();
+        return ResponseEntity.ok(assignments);
+    }
+    
+    // Get assignment by ID (conditional GET: 304 when If-None-Match carries the current ETag)
     @GetMapping("/{id}")
-    public ResponseEntity<AssignmentDTO> getAssignmentById(@PathVariable Long id) {
-        AssignmentDTO assignment = assignmentService.getAssignmentById(id);
-        return ResponseEntity.ok(assignment);
+    public ResponseEntity<AssignmentDTO> getAssignmentById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = assignmentService.getAssignmentETag(id);
+        return ConditionalGet.respond(ifNoneMatch, etag, CacheControl.noCache().cachePublic(),
+                () -> assignmentService.getAssignmentById(id));
     }
     
     // Create new assignment
@@ -62,4 +115,25 @@ public class AssignmentController {
         assignmentService.deleteAssignment(id);
         return ResponseEntity.noContent().build();
     }
+    
+    // Get submission counts, average score and completion time, and the score histogram of an assignment
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<AssignmentStatsDTO> getAssignmentStats(@PathVariable Long id) {
+        AssignmentStatsDTO stats = assignmentStatsService.getStats(id);
+        return ResponseEntity.ok(stats);
+    }
+    
+    // Get answered and correct counts per question of an assignment
+    @GetMapping("/{id}/stats/questions")
+    public ResponseEntity<List<QuestionStatsDTO>> getAssignmentQuestionStats(@PathVariable Long id) {
+        List<QuestionStatsDTO> stats = assignmentStatsService.getQuestionStats(id);
+        return ResponseEntity.ok(stats);
+    }
+    
+    // Rebuild the stats of an assignment from its submitted attempts
+    @PostMapping("/{id}/stats/recompute")
+    public ResponseEntity<AssignmentStatsDTO> recomputeAssignmentStats(@PathVariable Long id) {
+        AssignmentStatsDTO stats = assignmentStatsService.recompute(id);
+        return ResponseEntity.ok(stats);
+    }
 }
\ No newline at end of file
@@ -2,15 +2,24 @@ package com.onlinequiz.online_quiz.controller;
 
 import com.onlinequiz.online_quiz.dto.AnswerDTO;
 import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.AttemptStatusDTO;
+import com.onlinequiz.online_quiz.dto.CursorPageDTO;
+import com.onlinequiz.online_quiz.dto.QuestionDTO;
 import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
+import com.onlinequiz.online_quiz.service.AttemptEventBroadcaster;
 import com.onlinequiz.online_quiz.service.AttemptService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/attempts")
@@ -19,6 +28,12 @@ public class AttemptController {
     
     @Autowired
     private AttemptService attemptService;
+
+    @Autowired
+    private AttemptEventBroadcaster attemptEventBroadcaster;
+
+    @Autowired
+    private ObjectMapper objectMapper;
     
     // Start a new attempt
     @PostMapping("/start/{assignmentId}")
@@ -27,13 +42,46 @@ public class AttemptController {
         return ResponseEntity.status(HttpStatus.CREATED).body(attempt);
     }
     
-    // Get attempt by ID
+    // Get attempt by ID; include=answers,correctOptions (default), include=answers or include=none (on its own)
     @GetMapping("/{id}")
-    public ResponseEntity<AttemptDTO> getAttemptById(@PathVariable Long id) {
-        AttemptDTO attempt = attemptService.getAttemptById(id);
+    public ResponseEntity<AttemptDTO> getAttemptById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "answers,correctOptions") Set<String> include) {
+        for (String part : include) {
+            if (!part.equals("answers") && !part.equals("correctOptions") && !part.equals("none")) {
+                throw new RuntimeException("Unknown include value: " + part);
+            }
+        }
+        if (include.contains("none") && include.size() > 1) {
+            throw new RuntimeException("include=none cannot be combined with other values");
+        }
+        if (include.contains("correctOptions") && !include.contains("answers")) {
+            throw new RuntimeException("include=correctOptions requires answers");
+        }
+        AttemptDTO attempt = attemptService.getAttemptById(id, include.contains("answers"), include.contains("correctOptions"));
         return ResponseEntity.ok(attempt);
     }
     
+    // Status and remaining time only, without answers (cheap enough for polling)
+    @GetMapping("/{id}/status")
+    public ResponseEntity<AttemptStatusDTO> getAttemptStatus(@PathVariable Long id) {
+        AttemptStatusDTO status = attemptService.getAttemptStatus(id);
+        return ResponseEntity.ok(status);
+    }
+    
+    // Questions in the attempt's order and option order, without correct answers
+    @GetMapping("/{id}/questions")
+    public ResponseEntity<List<QuestionDTO>> getAttemptQuestions(@PathVariable Long id) {
+        List<QuestionDTO> questions = attemptService.getAttemptQuestions(id);
+        return ResponseEntity.ok(questions);
+    }
+    
+    // Server-sent events for an open exam tab: remaining-time ticks and a final submitted event
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAttemptEvents(@PathVariable Long id) {
+        return attemptEventBroadcaster.subscribe(id);
+    }
+    
     // Get all attempts for an assignment
     @GetMapping("/assignment/{assignmentId}")
     public ResponseEntity<List<AttemptDTO>> getAttemptsByAssignment(@PathVariable Long assignmentId) {
@@ -41,6 +89,27 @@ public class AttemptController {
         return ResponseEntity.ok(attempts);
     }
     
+    // Get one page of attempts for an assignment (keyset pagination by ID)
+    @GetMapping("/assignment/{assignmentId}/page")
+    public ResponseEntity<CursorPageDTO<AttemptDTO>> getAttemptsPageByAssignment(
+            @PathVariable Long assignmentId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPageDTO<AttemptDTO> page = attemptService.getAttemptsPageByAssignment(assignmentId, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+    
+    // Stream all attempts for an assignment as newline-delimited JSON
+    @GetMapping(value = "/assignment/{assignmentId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAttemptsByAssignment(@PathVariable Long assignmentId) {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                attemptService.streamAttemptsByAssignment(assignmentId, writer::write);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     // Submit or update an answer
     @PostMapping("/{attemptId}/answer")
     public ResponseEntity<AnswerDTO> submitAnswer(
@@ -50,10 +119,15 @@ public class AttemptController {
         return ResponseEntity.ok(answer);
     }
     
-    // Submit the entire attempt
+    // Submit the entire attempt; retries with the same Idempotency-Key return the stored result
     @PostMapping("/{attemptId}/submit")
-    public ResponseEntity<AttemptDTO> submitAttempt(@PathVariable Long attemptId) {
-        AttemptDTO attempt = attemptService.submitAttempt(attemptId, false);
+    public ResponseEntity<AttemptDTO> submitAttempt(
+            @PathVariable Long attemptId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 100)) {
+            throw new RuntimeException("Idempotency-Key must be 1 to 100 characters");
+        }
+        AttemptDTO attempt = attemptService.submitAttempt(attemptId, false, idempotencyKey);
         return ResponseEntity.ok(attempt);
     }
     
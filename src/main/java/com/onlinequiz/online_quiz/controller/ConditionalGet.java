@@ -0,0 +1,39 @@
+package com.onlinequiz.online_quiz.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+// Conditional GET: the version ETag is compared with If-None-Match before the body is built,
+// so a matching request is answered with 304 without loading or serializing the payload
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(String ifNoneMatch, String etag, CacheControl cacheControl, Supplier<T> body) {
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+
+    // Weak comparison, as GET requires: W/"x" matches "x"
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
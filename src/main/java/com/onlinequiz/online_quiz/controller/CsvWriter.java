@@ -0,0 +1,46 @@
+package com.onlinequiz.online_quiz.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// Writes rows as CSV (header first) straight to the response stream; properties missing from the schema are skipped
+class CsvWriter implements Closeable {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final int FLUSH_EVERY = 100;
+
+    private final SequenceWriter writer;
+    private int pending;
+
+    CsvWriter(Class<?> type, CsvSchema schema, OutputStream out) throws IOException {
+        this.writer = CSV_MAPPER.writerFor(type)
+                .with(schema.withHeader())
+                .with(JsonGenerator.Feature.IGNORE_UNKNOWN)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(out);
+    }
+
+    void write(Object value) {
+        try {
+            writer.write(value);
+            if (++pending >= FLUSH_EVERY) {
+                writer.flush();
+                pending = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
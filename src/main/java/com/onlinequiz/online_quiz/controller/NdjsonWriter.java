@@ -0,0 +1,49 @@
+package com.onlinequiz.online_quiz.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// Writes one JSON document per line (application/x-ndjson) straight to the response stream
+class NdjsonWriter implements Closeable {
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final JsonGenerator generator;
+    private int pending;
+    private boolean written;
+
+    NdjsonWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+
+    void write(Object value) {
+        try {
+            generator.writeObject(value);
+            written = true;
+            if (++pending >= FLUSH_EVERY) {
+                generator.flush();
+                pending = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The pretty printer separates documents; the last one still needs its line end.
+        // An empty result stays an empty body rather than a blank line
+        if (written) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
@@ -1,14 +1,27 @@
 package com.onlinequiz.online_quiz.controller;
 
 import com.onlinequiz.online_quiz.dto.CreateQuestionDTO;
+import com.onlinequiz.online_quiz.dto.CursorPageDTO;
 import com.onlinequiz.online_quiz.dto.QuestionDTO;
+import com.onlinequiz.online_quiz.dto.QuestionImportResultDTO;
+import com.onlinequiz.online_quiz.service.QuestionImporter;
 import com.onlinequiz.online_quiz.service.QuestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -16,21 +29,73 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:5173")
 public class QuestionController {
     
+    private static final CsvSchema IMPORT_CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("text").addColumn("optionA").addColumn("optionB").addColumn("optionC").addColumn("optionD")
+            .addNumberColumn("correctOption").addColumn("difficulty").addNumberColumn("points")
+            .build();
+    
     @Autowired
     private QuestionService questionService;
+
+    @Autowired
+    private QuestionImporter questionImporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
     
-    // Get all questions
+    // Question payloads include the correct option, so only the client may cache them, never a shared proxy
+    @Value("${quiz.http.questions.max-age:0s}")
+    private Duration questionsMaxAge;
+    
+    // Get all questions (conditional GET: 304 when If-None-Match carries the current ETag)
     @GetMapping
-    public ResponseEntity<List<QuestionDTO>> getAllQuestions() {
-        List<QuestionDTO> questions = questionService.getAllQuestions();
-        return ResponseEntity.ok(questions);
+    public ResponseEntity<List<QuestionDTO>> getAllQuestions(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalGet.respond(ifNoneMatch, questionService.getQuestionsETag(), questionsCacheControl(),
+                questionService::getAllQuestions);
+    }
+    
+    // Get one page of questions (keyset pagination by ID)
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<QuestionDTO>> getQuestionsPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPageDTO<QuestionDTO> page = questionService.getQuestionsPage(cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+    
+    // Stream all questions as newline-delimited JSON
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamQuestions() {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                questionService.streamQuestions(writer::write);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    // Export the question bank as CSV in the import format (the NDJSON export is /stream)
+    @GetMapping(value = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportQuestionsCsv() {
+        StreamingResponseBody body = out -> {
+            try (CsvWriter writer = new CsvWriter(QuestionDTO.class, IMPORT_CSV_SCHEMA, out)) {
+                questionService.streamQuestions(writer::write);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"questions.csv\"")
+                .body(body);
     }
     
-    // Get question by ID
+    // Get question by ID (conditional GET)
     @GetMapping("/{id}")
-    public ResponseEntity<QuestionDTO> getQuestionById(@PathVariable Long id) {
-        QuestionDTO question = questionService.getQuestionById(id);
-        return ResponseEntity.ok(question);
+    public ResponseEntity<QuestionDTO> getQuestionById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalGet.respond(ifNoneMatch, questionService.getQuestionETag(id), questionsCacheControl(),
+                () -> questionService.getQuestionById(id));
     }
     
     // Get questions by difficulty
@@ -47,6 +112,18 @@ public class QuestionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
     
+    // Bulk import questions, one JSON object per line
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<QuestionImportResultDTO> importQuestionsNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(questionImporter.importNdjson(body));
+    }
+    
+    // Bulk import questions from CSV with a header row (columns named like CreateQuestionDTO)
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<QuestionImportResultDTO> importQuestionsCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(questionImporter.importCsv(body));
+    }
+    
     // Update question
     @PutMapping("/{id}")
     public ResponseEntity<QuestionDTO> updateQuestion(
@@ -62,4 +139,12 @@ public class QuestionController {
         questionService.deleteQuestion(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // private: never stored by shared caches; max-age 0 means revalidate on every use
+    private CacheControl questionsCacheControl() {
+        if (questionsMaxAge.isZero()) {
+            return CacheControl.noCache().cachePrivate();
+        }
+        return CacheControl.maxAge(questionsMaxAge).cachePrivate();
+    }
+}
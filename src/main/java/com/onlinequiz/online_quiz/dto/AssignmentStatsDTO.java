@@ -0,0 +1,39 @@
+package com.onlinequiz.online_quiz.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AssignmentStatsDTO {
+    private Long assignmentId;
+    private Integer submittedCount;
+    private Integer autoSubmittedCount;
+    private Double averageScore;
+    private Double averageCompletionSeconds;
+    private List<ScoreBucketDTO> scoreHistogram;
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public AssignmentStatsDTO() {}
+    
+    // Getters and Setters
+    public Long getAssignmentId() { return assignmentId; }
+    public void setAssignmentId(Long assignmentId) { this.assignmentId = assignmentId; }
+    
+    public Integer getSubmittedCount() { return submittedCount; }
+    public void setSubmittedCount(Integer submittedCount) { this.submittedCount = submittedCount; }
+    
+    public Integer getAutoSubmittedCount() { return autoSubmittedCount; }
+    public void setAutoSubmittedCount(Integer autoSubmittedCount) { this.autoSubmittedCount = autoSubmittedCount; }
+    
+    public Double getAverageScore() { return averageScore; }
+    public void setAverageScore(Double averageScore) { this.averageScore = averageScore; }
+    
+    public Double getAverageCompletionSeconds() { return averageCompletionSeconds; }
+    public void setAverageCompletionSeconds(Double averageCompletionSeconds) { this.averageCompletionSeconds = averageCompletionSeconds; }
+    
+    public List<ScoreBucketDTO> getScoreHistogram() { return scoreHistogram; }
+    public void setScoreHistogram(List<ScoreBucketDTO> scoreHistogram) { this.scoreHistogram = scoreHistogram; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,31 @@
+package com.onlinequiz.online_quiz.dto;
+
+public class AttemptEventDTO {
+    private Long attemptId;
+    private String status;
+    private Integer remainingTimeSeconds;
+    private Integer score; // set on the final event of a submitted attempt
+    
+    // Constructors
+    public AttemptEventDTO() {}
+    
+    public AttemptEventDTO(Long attemptId, String status, Integer remainingTimeSeconds, Integer score) {
+        this.attemptId = attemptId;
+        this.status = status;
+        this.remainingTimeSeconds = remainingTimeSeconds;
+        this.score = score;
+    }
+    
+    // Getters and Setters
+    public Long getAttemptId() { return attemptId; }
+    public void setAttemptId(Long attemptId) { this.attemptId = attemptId; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public Integer getRemainingTimeSeconds() { return remainingTimeSeconds; }
+    public void setRemainingTimeSeconds(Integer remainingTimeSeconds) { this.remainingTimeSeconds = remainingTimeSeconds; }
+    
+    public Integer getScore() { return score; }
+    public void setScore(Integer score) { this.score = score; }
+}
@@ -0,0 +1,42 @@
+package com.onlinequiz.online_quiz.dto;
+
+import java.time.LocalDateTime;
+
+public class AttemptStatusDTO {
+    private Long id;
+    private Long assignmentId;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime submittedAt;
+    private Integer score;
+    private Integer totalPoints;
+    private Integer remainingTimeSeconds;
+    
+    // Constructors
+    public AttemptStatusDTO() {}
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getAssignmentId() { return assignmentId; }
+    public void setAssignmentId(Long assignmentId) { this.assignmentId = assignmentId; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+    
+    public Integer getScore() { return score; }
+    public void setScore(Integer score) { this.score = score; }
+    
+    public Integer getTotalPoints() { return totalPoints; }
+    public void setTotalPoints(Integer totalPoints) { this.totalPoints = totalPoints; }
+    
+    public Integer getRemainingTimeSeconds() { return remainingTimeSeconds; }
+    public void setRemainingTimeSeconds(Integer remainingTimeSeconds) { this.remainingTimeSeconds = remainingTimeSeconds; }
+}
@@ -8,15 +8,19 @@ public class CreateQuestionDTO {
     private String text;
     
     @NotBlank(message = "Option A is required")
+    @Size(max = 255, message = "Option A must be at most 255 characters")
     private String optionA;
     
     @NotBlank(message = "Option B is required")
+    @Size(max = 255, message = "Option B must be at most 255 characters")
     private String optionB;
     
     @NotBlank(message = "Option C is required")
+    @Size(max = 255, message = "Option C must be at most 255 characters")
     private String optionC;
     
     @NotBlank(message = "Option D is required")
+    @Size(max = 255, message = "Option D must be at most 255 characters")
     private String optionD;
     
     @NotNull(message = "Correct option is required")
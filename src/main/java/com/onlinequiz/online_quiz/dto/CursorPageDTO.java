@@ -0,0 +1,41 @@
+package com.onlinequiz.online_quiz.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPageDTO<T> {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private Long nextCursor; // null when there are no more rows
+
+    // Constructors
+    public CursorPageDTO() {}
+
+    public CursorPageDTO(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Build a page whose cursor is the id of the last item when the page is full
+    public static <T> CursorPageDTO<T> of(List<T> items, int limit, Function<T, Long> idOf) {
+        Long nextCursor = items.size() < limit ? null : idOf.apply(items.get(items.size() - 1));
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    // Clamp a requested page size to [1, MAX_LIMIT]
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -1,5 +1,7 @@
 package com.onlinequiz.online_quiz.dto;
 
+import java.util.List;
+
 public class QuestionDTO {
     private Long id;
     private String text;
@@ -13,6 +15,9 @@ public class QuestionDTO {
     // For admin view only - don't send to students during attempt
     private Integer correctOption;
     
+    // Shuffled attempts only: the option number shown as option A-D, which is what the student submits
+    private List<Integer> optionOrder;
+    
     // Constructors
     public QuestionDTO() {}
     
@@ -43,4 +48,7 @@ public class QuestionDTO {
     
     public Integer getCorrectOption() { return correctOption; }
     public void setCorrectOption(Integer correctOption) { this.correctOption = correctOption; }
+    
+    public List<Integer> getOptionOrder() { return optionOrder; }
+    public void setOptionOrder(List<Integer> optionOrder) { this.optionOrder = optionOrder; }
 }
\ No newline at end of file
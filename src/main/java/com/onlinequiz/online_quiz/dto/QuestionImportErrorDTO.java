@@ -0,0 +1,21 @@
+package com.onlinequiz.online_quiz.dto;
+
+public class QuestionImportErrorDTO {
+    private int row;
+    private String message;
+    
+    // Constructors
+    public QuestionImportErrorDTO() {}
+    
+    public QuestionImportErrorDTO(int row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public int getRow() { return row; }
+    public void setRow(int row) { this.row = row; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,23 @@
+package com.onlinequiz.online_quiz.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class QuestionImportResultDTO {
+    private int imported;
+    private int rejected;
+    private List<QuestionImportErrorDTO> errors = new ArrayList<>(); // first quiz.questions.import.max-errors only
+    
+    // Constructors
+    public QuestionImportResultDTO() {}
+    
+    // Getters and Setters
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+    
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+    
+    public List<QuestionImportErrorDTO> getErrors() { return errors; }
+    public void setErrors(List<QuestionImportErrorDTO> errors) { this.errors = errors; }
+}
@@ -0,0 +1,24 @@
+package com.onlinequiz.online_quiz.dto;
+
+public class QuestionStatsDTO {
+    private Long questionId;
+    private Integer answeredCount;
+    private Integer correctCount;
+    private Double correctRate; // correct answers per submitted attempt; unanswered counts as incorrect
+    
+    // Constructors
+    public QuestionStatsDTO() {}
+    
+    // Getters and Setters
+    public Long getQuestionId() { return questionId; }
+    public void setQuestionId(Long questionId) { this.questionId = questionId; }
+    
+    public Integer getAnsweredCount() { return answeredCount; }
+    public void setAnsweredCount(Integer answeredCount) { this.answeredCount = answeredCount; }
+    
+    public Integer getCorrectCount() { return correctCount; }
+    public void setCorrectCount(Integer correctCount) { this.correctCount = correctCount; }
+    
+    public Double getCorrectRate() { return correctRate; }
+    public void setCorrectRate(Double correctRate) { this.correctRate = correctRate; }
+}
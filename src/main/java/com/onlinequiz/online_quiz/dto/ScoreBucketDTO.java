@@ -0,0 +1,26 @@
+package com.onlinequiz.online_quiz.dto;
+
+public class ScoreBucketDTO {
+    private Integer fromPercent;
+    private Integer toPercent;
+    private Integer attemptCount;
+    
+    // Constructors
+    public ScoreBucketDTO() {}
+    
+    public ScoreBucketDTO(Integer fromPercent, Integer toPercent, Integer attemptCount) {
+        this.fromPercent = fromPercent;
+        this.toPercent = toPercent;
+        this.attemptCount = attemptCount;
+    }
+    
+    // Getters and Setters
+    public Integer getFromPercent() { return fromPercent; }
+    public void setFromPercent(Integer fromPercent) { this.fromPercent = fromPercent; }
+    
+    public Integer getToPercent() { return toPercent; }
+    public void setToPercent(Integer toPercent) { this.toPercent = toPercent; }
+    
+    public Integer getAttemptCount() { return attemptCount; }
+    public void setAttemptCount(Integer attemptCount) { this.attemptCount = attemptCount; }
+}
@@ -7,8 +7,11 @@ import java.time.LocalDateTime;
 @Table(name = "answers")
 public class Answer {
     
+    // Pooled sequence instead of IDENTITY so Hibernate can batch the answer
+    // rows created for every question when an attempt starts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "answers_seq")
+    @SequenceGenerator(name = "answers_seq", sequenceName = "answers_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -34,6 +34,19 @@ public class Attempt {
     @Column(name = "total_points")
     private Integer totalPoints;
 
+    @Column(name = "submit_key", length = 100)
+    private String submitKey; // Idempotency-Key of the submit request, if it sent one
+
+    // Compact answer storage (quiz.answers.storage=vector, see AnswerVector); null for attempts with answer rows
+    @Column(name = "answer_question_ids")
+    private byte[] answerQuestionIds;
+
+    @Column(name = "answer_vector")
+    private byte[] answerVector;
+
+    @Column(name = "shuffle_seed")
+    private Long shuffleSeed; // Question and option order of this attempt (see AttemptShuffle); null when not shuffled
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -131,6 +144,38 @@ public class Attempt {
         this.updatedAt = updatedAt;
     }
 
+    public String getSubmitKey() {
+        return submitKey;
+    }
+
+    public void setSubmitKey(String submitKey) {
+        this.submitKey = submitKey;
+    }
+
+    public byte[] getAnswerQuestionIds() {
+        return answerQuestionIds;
+    }
+
+    public void setAnswerQuestionIds(byte[] answerQuestionIds) {
+        this.answerQuestionIds = answerQuestionIds;
+    }
+
+    public byte[] getAnswerVector() {
+        return answerVector;
+    }
+
+    public void setAnswerVector(byte[] answerVector) {
+        this.answerVector = answerVector;
+    }
+
+    public Long getShuffleSeed() {
+        return shuffleSeed;
+    }
+
+    public void setShuffleSeed(Long shuffleSeed) {
+        this.shuffleSeed = shuffleSeed;
+    }
+
     public Set<Answer> getAnswers() {
         return answers;
     }
@@ -0,0 +1,30 @@
+package com.onlinequiz.online_quiz.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts the SQL statements Hibernate prepares on the current thread, so a request can report how many it issued
+public class RequestStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    // Start counting on this thread
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    // Stop counting and return the number of statements since start()
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -1,19 +1,88 @@
 package com.onlinequiz.online_quiz.repository;
 
 import com.onlinequiz.online_quiz.entity.Answer;
+import com.onlinequiz.online_quiz.repository.projection.AnswerSelection;
+import com.onlinequiz.online_quiz.repository.projection.AnswerView;
+import com.onlinequiz.online_quiz.repository.projection.QuestionResultCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
     @Query("SELECT a FROM Answer a WHERE a.attempt.id = :attemptId ORDER BY a.question.id ASC")
     List<Answer> findByAttemptId(@Param("attemptId") Long attemptId);
 
+    @Query("SELECT a.id AS id, a.attempt.id AS attemptId, q.id AS questionId, a.selectedAnswer AS selectedAnswer, " +
+            "a.markedForReview AS markedForReview, a.isCorrect AS isCorrect, q.correctOption AS correctOption, " +
+            "a.attempt.shuffleSeed AS shuffleSeed " +
+            "FROM Answer a JOIN a.question q WHERE a.attempt.id = :attemptId ORDER BY q.id ASC")
+    List<AnswerView> findViewsByAttemptId(@Param("attemptId") Long attemptId);
+
+    @Query("SELECT a.id AS id, a.attempt.id AS attemptId, q.id AS questionId, a.selectedAnswer AS selectedAnswer, " +
+            "a.markedForReview AS markedForReview, a.isCorrect AS isCorrect, q.correctOption AS correctOption, " +
+            "a.attempt.shuffleSeed AS shuffleSeed " +
+            "FROM Answer a JOIN a.question q WHERE a.attempt.assignment.id = :assignmentId " +
+            "ORDER BY a.attempt.id ASC, q.id ASC")
+    List<AnswerView> findViewsByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.id AS id, a.attempt.id AS attemptId, q.id AS questionId, a.selectedAnswer AS selectedAnswer, " +
+            "a.markedForReview AS markedForReview, a.isCorrect AS isCorrect, q.correctOption AS correctOption, " +
+            "a.attempt.shuffleSeed AS shuffleSeed " +
+            "FROM Answer a JOIN a.question q WHERE a.attempt.assignment.id = :assignmentId " +
+            "ORDER BY a.attempt.id ASC, q.id ASC")
+    Stream<AnswerView> streamViewsByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT a.id AS id, a.attempt.id AS attemptId, q.id AS questionId, a.selectedAnswer AS selectedAnswer, " +
+            "a.markedForReview AS markedForReview, a.isCorrect AS isCorrect, q.correctOption AS correctOption, " +
+            "a.attempt.shuffleSeed AS shuffleSeed " +
+            "FROM Answer a JOIN a.question q WHERE a.attempt.id IN :attemptIds " +
+            "ORDER BY a.attempt.id ASC, q.id ASC")
+    List<AnswerView> findViewsByAttemptIdIn(@Param("attemptIds") Collection<Long> attemptIds);
+
     Optional<Answer> findByAttemptIdAndQuestionId(Long attemptId, Long questionId);
 
     List<Answer> findByAttemptIdAndMarkedForReview(Long attemptId, Boolean markedForReview);
+
+    long countByAttemptId(Long attemptId);
+
+    // Per-question aggregates for AssignmentStatsService.recompute
+    @Query("SELECT a.question.id AS questionId, " +
+            "SUM(CASE WHEN a.selectedAnswer IS NOT NULL THEN 1 ELSE 0 END) AS answeredCount, " +
+            "SUM(CASE WHEN a.isCorrect = true THEN 1 ELSE 0 END) AS correctCount " +
+            "FROM Answer a WHERE a.attempt.assignment.id = :assignmentId AND a.attempt.status <> 'IN_PROGRESS' " +
+            "GROUP BY a.question.id")
+    List<QuestionResultCount> findQuestionResultsByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    // Grade every answer of an attempt in one statement against the question's correct option
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Answer a SET a.isCorrect = CASE WHEN a.selectedAnswer IS NOT NULL AND a.selectedAnswer = " +
+            "(SELECT q.correctOption FROM Question q WHERE q.id = a.question.id) THEN true ELSE false END " +
+            "WHERE a.attempt.id = :attemptId")
+    int gradeAnswersByAttemptId(@Param("attemptId") Long attemptId);
+
+    @Query("SELECT COALESCE(SUM(q.points), 0) FROM Answer a JOIN a.question q " +
+            "WHERE a.attempt.id = :attemptId AND a.isCorrect = true")
+    int sumCorrectPointsByAttemptId(@Param("attemptId") Long attemptId);
+
+    @Query("SELECT a.question.id AS questionId, a.selectedAnswer AS selectedAnswer FROM Answer a " +
+            "WHERE a.attempt.id = :attemptId")
+    List<AnswerSelection> findSelectionsByAttemptId(@Param("attemptId") Long attemptId);
+
+    // Write grading results computed in memory: the listed questions are correct, every other answer is not
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Answer a SET a.isCorrect = CASE WHEN a.question.id IN :correctQuestionIds THEN true ELSE false END " +
+            "WHERE a.attempt.id = :attemptId")
+    int markCorrectAnswers(@Param("attemptId") Long attemptId,
+                           @Param("correctQuestionIds") Collection<Long> correctQuestionIds);
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package com.onlinequiz.online_quiz.repository;
 
 import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.repository.projection.AssignmentSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,4 +22,29 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
 
     @Query("SELECT DISTINCT a FROM Assignment a LEFT JOIN FETCH a.questions WHERE a.id = :id")
     java.util.Optional<Assignment> findByIdWithQuestions(@Param("id") Long id);
+
+    // Assignments whose start time falls in (from, to], for the pre-warmer
+    @Query("SELECT a.id FROM Assignment a WHERE a.startTime > :from AND a.startTime <= :to ORDER BY a.startTime")
+    List<Long> findIdsStartingBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Keyset page of assignment ids, newest first
+    @Query("SELECT a.id FROM Assignment a WHERE a.id < :cursor ORDER BY a.id DESC")
+    List<Long> findIdsBefore(@Param("cursor") Long cursor, Limit limit);
+
+    @Query("SELECT DISTINCT a FROM Assignment a LEFT JOIN FETCH a.questions WHERE a.id IN :ids ORDER BY a.id DESC")
+    List<Assignment> findWithQuestionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Listing rows with question count and total points, newest first, without loading any question
+    @Query("SELECT a.id AS id, a.name AS name, a.startTime AS startTime, a.endTime AS endTime, a.duration AS duration, " +
+            "COUNT(q.id) AS questionCount, COALESCE(SUM(q.points), 0) AS totalPoints " +
+            "FROM Assignment a LEFT JOIN a.questions q " +
+            "GROUP BY a.id, a.name, a.startTime, a.endTime, a.duration, a.createdAt ORDER BY a.createdAt DESC")
+    List<AssignmentSummary> findAllSummaries();
+
+    @Query("SELECT a.id AS id, a.name AS name, a.startTime AS startTime, a.endTime AS endTime, a.duration AS duration, " +
+            "COUNT(q.id) AS questionCount, COALESCE(SUM(q.points), 0) AS totalPoints " +
+            "FROM Assignment a LEFT JOIN a.questions q " +
+            "WHERE a.startTime <= :currentTime AND a.endTime >= :currentTime " +
+            "GROUP BY a.id, a.name, a.startTime, a.endTime, a.duration, a.createdAt ORDER BY a.createdAt DESC")
+    List<AssignmentSummary> findAvailableSummaries(@Param("currentTime") LocalDateTime currentTime);
 }
\ No newline at end of file
@@ -1,14 +1,90 @@
 package com.onlinequiz.online_quiz.repository;
 
 import com.onlinequiz.online_quiz.entity.Attempt;
+import com.onlinequiz.online_quiz.repository.projection.AttemptAnswerVector;
+import com.onlinequiz.online_quiz.repository.projection.AttemptDeadline;
+import com.onlinequiz.online_quiz.repository.projection.AttemptStatus;
+import com.onlinequiz.online_quiz.repository.projection.AttemptTotals;
+import com.onlinequiz.online_quiz.repository.projection.ScoreBucketCount;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttemptRepository extends JpaRepository<Attempt, Long> {
+    @EntityGraph(attributePaths = "assignment")
     List<Attempt> findByAssignmentId(Long assignmentId);
+
+    @EntityGraph(attributePaths = "assignment")
+    Optional<Attempt> findWithAssignmentById(Long id);
+
+    @EntityGraph(attributePaths = "assignment")
+    List<Attempt> findByAssignmentIdAndIdGreaterThanOrderByIdAsc(Long assignmentId, Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM Attempt a JOIN FETCH a.assignment WHERE a.assignment.id = :assignmentId ORDER BY a.id ASC")
+    Stream<Attempt> streamByAssignmentId(@Param("assignmentId") Long assignmentId);
+
     Optional<Attempt> findByIdAndStatus(Long id, String status);
+
+    // Locks only the attempt row (SELECT ... FOR UPDATE), not its assignment
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Attempt a WHERE a.id = :id")
+    Optional<Attempt> findLockedById(@Param("id") Long id);
+
+    // Move an in-progress attempt to its submitted status; returns 0 when another submit got there first.
+    // The row stays locked until commit, so a concurrent submit waits here and then matches no row
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Attempt a SET a.status = :status, a.submittedAt = :submittedAt, a.submitKey = :submitKey, " +
+            "a.updatedAt = :submittedAt WHERE a.id = :id AND a.status = 'IN_PROGRESS'")
+    int claimForSubmit(@Param("id") Long id,
+                       @Param("status") String status,
+                       @Param("submittedAt") LocalDateTime submittedAt,
+                       @Param("submitKey") String submitKey);
     List<Attempt> findByStatus(String status);
+
+    @Query("SELECT a.id AS id, a.status AS status, a.startedAt AS startedAt, s.duration AS duration, a.score AS score " +
+            "FROM Attempt a JOIN a.assignment s WHERE a.status = :status")
+    List<AttemptDeadline> findDeadlinesByStatus(@Param("status") String status);
+
+    @Query("SELECT a.id AS id, a.status AS status, a.startedAt AS startedAt, s.duration AS duration, a.score AS score " +
+            "FROM Attempt a JOIN a.assignment s WHERE a.id = :id")
+    Optional<AttemptDeadline> findDeadlineById(@Param("id") Long id);
+
+    @Query("SELECT a.id AS id, s.id AS assignmentId, a.status AS status, a.startedAt AS startedAt, " +
+            "a.submittedAt AS submittedAt, a.score AS score, a.totalPoints AS totalPoints, s.duration AS duration, " +
+            "a.shuffleSeed AS shuffleSeed " +
+            "FROM Attempt a JOIN a.assignment s WHERE a.id = :id")
+    Optional<AttemptStatus> findStatusById(@Param("id") Long id);
+
+    // Aggregates for AssignmentStatsService.recompute
+    @Query("SELECT COUNT(a) AS submittedCount, " +
+            "COALESCE(SUM(CASE WHEN a.status = 'AUTO_SUBMITTED' THEN 1 ELSE 0 END), 0) AS autoSubmittedCount, " +
+            "COALESCE(SUM(a.score), 0) AS scoreSum, " +
+            "COALESCE(SUM(((a.submittedAt - a.startedAt) by nanosecond) / 1000000), 0) AS completionMillisSum " +
+            "FROM Attempt a WHERE a.assignment.id = :assignmentId AND a.status <> 'IN_PROGRESS'")
+    AttemptTotals findTotalsByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT CASE WHEN a.totalPoints > 0 THEN LEAST(9, COALESCE(a.score, 0) * 10 / a.totalPoints) ELSE 0 END AS bucket, " +
+            "COUNT(a) AS attemptCount " +
+            "FROM Attempt a WHERE a.assignment.id = :assignmentId AND a.status <> 'IN_PROGRESS' GROUP BY 1")
+    List<ScoreBucketCount> findScoreBucketsByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    // Submitted attempts that store their answers as a vector (they have no answer rows)
+    @Query("SELECT a.answerQuestionIds AS answerQuestionIds, a.answerVector AS answerVector " +
+            "FROM Attempt a WHERE a.assignment.id = :assignmentId AND a.status <> 'IN_PROGRESS' AND a.answerVector IS NOT NULL")
+    List<AttemptAnswerVector> findAnswerVectorsByAssignmentId(@Param("assignmentId") Long assignmentId);
 }
\ No newline at end of file
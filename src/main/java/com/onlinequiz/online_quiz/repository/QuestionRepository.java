@@ -1,12 +1,38 @@
 package com.onlinequiz.online_quiz.repository;
 
 import com.onlinequiz.online_quiz.entity.Question;
+import com.onlinequiz.online_quiz.repository.projection.QuestionTableVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByDifficulty(String difficulty);
     List<Question> findByDifficultyOrderByCreatedAtDesc(String difficulty);
+
+    List<Question> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Full scans bypass the second-level cache so an export does not evict the questions of running exams
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT q FROM Question q ORDER BY q.id ASC")
+    Stream<Question> streamAllByOrderByIdAsc();
+
+    @Query("SELECT COALESCE(q.updatedAt, q.createdAt) FROM Question q WHERE q.id = :id")
+    Optional<LocalDateTime> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(q.id) AS count, MAX(q.id) AS maxId, MAX(COALESCE(q.updatedAt, q.createdAt)) AS lastUpdatedAt FROM Question q")
+    QuestionTableVersion findTableVersion();
 }
\ No newline at end of file
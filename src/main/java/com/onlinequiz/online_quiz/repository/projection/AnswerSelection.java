@@ -0,0 +1,7 @@
+package com.onlinequiz.online_quiz.repository.projection;
+
+// The only answer fields grading needs
+public interface AnswerSelection {
+    Long getQuestionId();
+    Integer getSelectedAnswer();
+}
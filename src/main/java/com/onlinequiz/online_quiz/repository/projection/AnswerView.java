@@ -0,0 +1,13 @@
+package com.onlinequiz.online_quiz.repository.projection;
+
+// Flat read model of an answer joined with the question fields the DTO needs
+public interface AnswerView {
+    Long getId();
+    Long getAttemptId();
+    Long getQuestionId();
+    Integer getSelectedAnswer();
+    Boolean getMarkedForReview();
+    Boolean getIsCorrect();
+    Integer getCorrectOption();
+    Long getShuffleSeed(); // of the attempt
+}
@@ -0,0 +1,14 @@
+package com.onlinequiz.online_quiz.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Assignment listing row: the assignment columns plus question count and total points aggregated in SQL
+public interface AssignmentSummary {
+    Long getId();
+    String getName();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+    Integer getDuration();
+    Long getQuestionCount();
+    Long getTotalPoints();
+}
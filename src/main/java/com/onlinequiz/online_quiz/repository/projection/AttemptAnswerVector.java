@@ -0,0 +1,7 @@
+package com.onlinequiz.online_quiz.repository.projection;
+
+// Packed answers of an attempt stored in the compact mode (quiz.answers.storage=vector)
+public interface AttemptAnswerVector {
+    byte[] getAnswerQuestionIds();
+    byte[] getAnswerVector();
+}
@@ -0,0 +1,12 @@
+package com.onlinequiz.online_quiz.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Start time and allowed duration of an attempt, enough to compute its deadline, with its status and score
+public interface AttemptDeadline {
+    Long getId();
+    String getStatus();
+    LocalDateTime getStartedAt();
+    Integer getDuration();
+    Integer getScore();
+}
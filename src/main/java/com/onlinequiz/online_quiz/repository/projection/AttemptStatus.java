@@ -0,0 +1,16 @@
+package com.onlinequiz.online_quiz.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Attempt columns and the assignment duration, without answers
+public interface AttemptStatus {
+    Long getId();
+    Long getAssignmentId();
+    String getStatus();
+    LocalDateTime getStartedAt();
+    LocalDateTime getSubmittedAt();
+    Integer getScore();
+    Integer getTotalPoints();
+    Integer getDuration();
+    Long getShuffleSeed();
+}
@@ -0,0 +1,9 @@
+package com.onlinequiz.online_quiz.repository.projection;
+
+// Counts and sums over the submitted attempts of an assignment
+public interface AttemptTotals {
+    Long getSubmittedCount();
+    Long getAutoSubmittedCount();
+    Long getScoreSum();
+    Long getCompletionMillisSum();
+}
@@ -0,0 +1,8 @@
+package com.onlinequiz.online_quiz.repository.projection;
+
+// Answered and correct answers of one question over the submitted attempts of an assignment
+public interface QuestionResultCount {
+    Long getQuestionId();
+    Long getAnsweredCount();
+    Long getCorrectCount();
+}
@@ -0,0 +1,10 @@
+package com.onlinequiz.online_quiz.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Changes whenever a question is created, updated or deleted
+public interface QuestionTableVersion {
+    Long getCount();
+    Long getMaxId();
+    LocalDateTime getLastUpdatedAt();
+}
@@ -0,0 +1,7 @@
+package com.onlinequiz.online_quiz.repository.projection;
+
+// Submitted attempts per score histogram bucket (0-9, tenths of the total points)
+public interface ScoreBucketCount {
+    Integer getBucket();
+    Long getAttemptCount();
+}
@@ -0,0 +1,98 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.entity.Attempt;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+// Answers of one attempt in the compact storage mode (quiz.answers.storage=vector), kept in two columns
+// of the attempt: its question IDs in ascending order as 8-byte values, written once at start, and
+// one state byte per question in the same order:
+//   bits 0-2  selected option, 0 when unanswered
+//   bit 3     marked for review
+//   bit 4     correct (set by grading)
+final class AnswerVector {
+
+    static final int MAX_OPTION = 4;
+
+    private static final int SELECTION = 0x07;
+    private static final int MARKED = 0x08;
+    private static final int CORRECT = 0x10;
+
+    private final long[] questionIds;
+    private final byte[] states;
+
+    private AnswerVector(long[] questionIds, byte[] states) {
+        this.questionIds = questionIds;
+        this.states = states;
+    }
+
+    // Empty answers for questions already sorted by ID
+    static AnswerVector create(List<Long> sortedQuestionIds) {
+        long[] questionIds = sortedQuestionIds.stream().mapToLong(Long::longValue).toArray();
+        return new AnswerVector(questionIds, new byte[questionIds.length]);
+    }
+
+    static AnswerVector of(Attempt attempt) {
+        return of(attempt.getAnswerQuestionIds(), attempt.getAnswerVector());
+    }
+
+    static AnswerVector of(byte[] packedQuestionIds, byte[] states) {
+        long[] questionIds = new long[packedQuestionIds.length / Long.BYTES];
+        ByteBuffer.wrap(packedQuestionIds).asLongBuffer().get(questionIds);
+        return new AnswerVector(questionIds, states.clone());
+    }
+
+    // Store the answers in the attempt (the question IDs only the first time)
+    void writeTo(Attempt attempt) {
+        if (attempt.getAnswerQuestionIds() == null) {
+            ByteBuffer packed = ByteBuffer.allocate(questionIds.length * Long.BYTES);
+            packed.asLongBuffer().put(questionIds);
+            attempt.setAnswerQuestionIds(packed.array());
+        }
+        attempt.setAnswerVector(states.clone());
+    }
+
+    // Position of the question, or a negative value if the attempt does not have it
+    int indexOf(long questionId) {
+        return Arrays.binarySearch(questionIds, questionId);
+    }
+
+    int size() {
+        return questionIds.length;
+    }
+
+    long questionId(int index) {
+        return questionIds[index];
+    }
+
+    Integer selectedAnswer(int index) {
+        int selection = states[index] & SELECTION;
+        return selection == 0 ? null : selection;
+    }
+
+    boolean isMarkedForReview(int index) {
+        return (states[index] & MARKED) != 0;
+    }
+
+    boolean isCorrect(int index) {
+        return (states[index] & CORRECT) != 0;
+    }
+
+    // Record an answer change; selectedAnswer must be null or 1 to MAX_OPTION
+    void set(int index, Integer selectedAnswer, boolean markedForReview) {
+        int state = states[index] & CORRECT;
+        if (selectedAnswer != null) {
+            state |= selectedAnswer;
+        }
+        if (markedForReview) {
+            state |= MARKED;
+        }
+        states[index] = (byte) state;
+    }
+
+    void setCorrect(int index, boolean correct) {
+        states[index] = (byte) (correct ? states[index] | CORRECT : states[index] & ~CORRECT);
+    }
+}
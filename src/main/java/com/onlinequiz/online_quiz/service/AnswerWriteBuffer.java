@@ -0,0 +1,215 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.dto.AnswerDTO;
+import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
+import com.onlinequiz.online_quiz.entity.Attempt;
+import com.onlinequiz.online_quiz.repository.AnswerRepository;
+import com.onlinequiz.online_quiz.repository.AttemptRepository;
+import com.onlinequiz.online_quiz.service.BufferedAttempt.AnswerSlot;
+import com.onlinequiz.online_quiz.service.BufferedAttempt.PendingAnswer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Optional write-behind mode for submitAnswer (quiz.answers.write-behind.enabled).
+// Answer changes are acknowledged from per-attempt memory, coalesced per question (last write wins)
+// and written in JDBC batches every flush interval. Crash-safety semantics:
+// - an acknowledged change is durable after the next flush, so a crash loses at most one flush
+//   interval of changes; a graceful shutdown flushes everything first
+// - pending changes leave memory only after the transaction that wrote them commits, so a failed
+//   flush is retried on the next interval
+// - flushes are not serialized; the UPDATE only applies a change that is not older than the stored
+//   one, so an overlapping flush that commits late cannot overwrite a newer value
+// - submitting an attempt closes its buffer (later writes are rejected) and writes all pending changes
+//   inside the scoring transaction; if that transaction rolls back the buffer is reopened intact
+// - reading an attempt flushes it first, so reads see every acknowledged answer
+// State is per application instance, so requests for one attempt must reach the same instance.
+@Component
+public class AnswerWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(AnswerWriteBuffer.class);
+
+    private static final String UPDATE_SQL = "UPDATE answers SET selected_answer = ?, marked_for_review = ?, updated_at = ? "
+            + "WHERE attempt_id = ? AND question_id = ? AND (updated_at IS NULL OR updated_at <= ?)";
+
+    private final ConcurrentHashMap<Long, BufferedAttempt> attempts = new ConcurrentHashMap<>();
+
+    @Autowired
+    private AttemptRepository attemptRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${quiz.answers.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${quiz.answers.write-behind.batch-size:500}")
+    private int batchSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Get the buffered state of an attempt, loading it on first use
+    public BufferedAttempt getAttempt(Long attemptId) {
+        BufferedAttempt attempt = attempts.get(attemptId);
+        if (attempt != null) {
+            return attempt;
+        }
+        Attempt entity = attemptRepository.findWithAssignmentById(attemptId)
+                .orElseThrow(() -> new RuntimeException("Attempt not found with id: " + attemptId));
+        BufferedAttempt loaded = new BufferedAttempt(entity, answerRepository.findViewsByAttemptId(attemptId));
+        BufferedAttempt existing = attempts.putIfAbsent(attemptId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // Acknowledge an answer change from memory; it is written on the next flush
+    public AnswerDTO write(BufferedAttempt attempt, SubmitAnswerDTO submitDTO) {
+        AnswerSlot slot = attempt.slot(submitDTO.getQuestionId());
+        if (slot == null) {
+            throw new RuntimeException("Answer record not found");
+        }
+
+        boolean markedForReview = Boolean.TRUE.equals(submitDTO.getMarkedForReview());
+        synchronized (attempt) {
+            if (attempt.isClosed()) {
+                throw new RuntimeException("Cannot submit answer. Attempt is already completed.");
+            }
+            attempt.pending.put(submitDTO.getQuestionId(),
+                    new PendingAnswer(submitDTO.getSelectedAnswer(), markedForReview, attempt.nextWriteTime(LocalDateTime.now())));
+        }
+
+        AnswerDTO dto = new AnswerDTO();
+        dto.setId(slot.answerId);
+        dto.setQuestionId(submitDTO.getQuestionId());
+        dto.setSelectedAnswer(submitDTO.getSelectedAnswer());
+        dto.setMarkedForReview(markedForReview);
+        dto.setCorrectOption(slot.correctOption);
+        return dto;
+    }
+
+    // Write pending changes of one attempt; joins the caller's transaction when there is one
+    public void flush(Long attemptId) {
+        BufferedAttempt attempt = attempts.get(attemptId);
+        if (attempt == null || !attempt.hasPending()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            writeAndRelease(List.of(attempt));
+        } else {
+            transactionTemplate.executeWithoutResult(status -> writeAndRelease(List.of(attempt)));
+        }
+    }
+
+    // Close the attempt and write its pending changes in the caller's (scoring) transaction
+    public void closeAndFlush(Long attemptId) {
+        BufferedAttempt attempt = attempts.get(attemptId);
+        if (attempt == null) {
+            return;
+        }
+        synchronized (attempt) {
+            attempt.setClosed(true);
+        }
+        writeAndRelease(List.of(attempt));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        attempts.remove(attemptId, attempt);
+                    } else {
+                        attempt.setClosed(false);
+                    }
+                }
+            });
+        } else {
+            attempts.remove(attemptId, attempt);
+        }
+    }
+
+    // Periodic flush of every open attempt, then drop state that can no longer receive writes
+    @Scheduled(fixedDelayString = "${quiz.answers.write-behind.flush-interval:2s}")
+    public void flushAll() {
+        List<BufferedAttempt> dirty = attempts.values().stream()
+                .filter(attempt -> !attempt.isClosed() && attempt.hasPending())
+                .toList();
+        if (!dirty.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeAndRelease(dirty));
+            } catch (RuntimeException e) {
+                log.warn("Answer write-behind flush failed, {} attempts will be retried", dirty.size(), e);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        attempts.values().removeIf(attempt -> !attempt.hasPending() && (attempt.isClosed() || attempt.isExpired(now)));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushAll();
+    }
+
+    public int getBufferedAttemptCount() {
+        return attempts.size();
+    }
+
+    // Batch-write the current pending changes and release each one after commit,
+    // unless a newer write for the same question arrived in the meantime
+    private void writeAndRelease(List<BufferedAttempt> batch) {
+        List<Object[]> rows = new ArrayList<>();
+        List<Runnable> releases = new ArrayList<>();
+        for (BufferedAttempt attempt : batch) {
+            for (Map.Entry<Long, PendingAnswer> entry : attempt.pending.entrySet()) {
+                PendingAnswer answer = entry.getValue();
+                Timestamp updatedAt = Timestamp.valueOf(answer.updatedAt);
+                rows.add(new Object[] {
+                        answer.selectedAnswer, answer.markedForReview, updatedAt,
+                        attempt.getAttemptId(), entry.getKey(), updatedAt });
+                releases.add(() -> attempt.pending.remove(entry.getKey(), answer));
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        int[] types = { Types.INTEGER, Types.BOOLEAN, Types.TIMESTAMP, Types.BIGINT, Types.BIGINT, Types.TIMESTAMP };
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, rows.subList(from, Math.min(from + batchSize, rows.size())), types);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releases.forEach(Runnable::run);
+                }
+            });
+        } else {
+            releases.forEach(Runnable::run);
+        }
+    }
+}
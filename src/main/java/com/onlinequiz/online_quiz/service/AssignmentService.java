@@ -1,25 +1,37 @@
 package com.onlinequiz.online_quiz.service;
 
+import com.onlinequiz.online_quiz.cache.AssignmentSnapshot;
+import com.onlinequiz.online_quiz.cache.AssignmentSnapshotCache;
 import com.onlinequiz.online_quiz.dto.AssignmentDTO;
+import com.onlinequiz.online_quiz.dto.AssignmentSummaryDTO;
 import com.onlinequiz.online_quiz.dto.CreateAssignmentDTO;
+import com.onlinequiz.online_quiz.dto.CursorPageDTO;
 import com.onlinequiz.online_quiz.dto.QuestionDTO;
 import com.onlinequiz.online_quiz.entity.Assignment;
 import com.onlinequiz.online_quiz.entity.Question;
 import com.onlinequiz.online_quiz.repository.AssignmentRepository;
 import com.onlinequiz.online_quiz.repository.QuestionRepository;
+import com.onlinequiz.online_quiz.repository.projection.AssignmentSummary;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+@Observed(name = "quiz.service")
 @Service
 public class AssignmentService {
 
+    private static final int STREAM_CHUNK_SIZE = 100;
+
     @Autowired
     private AssignmentRepository assignmentRepository;
 
@@ -29,6 +41,9 @@ public class AssignmentService {
     @Autowired
     private QuestionService questionService;
 
+    @Autowired
+    private AssignmentSnapshotCache assignmentSnapshotCache;
+
     // Get all assignments
     public List<AssignmentDTO> getAllAssignments() {
         return assignmentRepository.findAllByOrderByCreatedAtDesc().stream()
@@ -36,6 +51,44 @@ public class AssignmentService {
                 .collect(Collectors.toList());
     }
 
+    // Get one page of assignments, newest first (keyset pagination by ID)
+    public CursorPageDTO<AssignmentDTO> getAssignmentsPage(Long cursor, Integer limit) {
+        int pageSize = CursorPageDTO.clampLimit(limit);
+        List<Long> ids = assignmentRepository.findIdsBefore(cursor == null ? Long.MAX_VALUE : cursor, Limit.of(pageSize));
+        List<AssignmentDTO> assignments = ids.isEmpty() ? List.of()
+                : assignmentRepository.findWithQuestionsByIdIn(ids).stream()
+                        .map(this::convertToDTO)
+                        .collect(Collectors.toList());
+        return CursorPageDTO.of(assignments, pageSize, AssignmentDTO::getId);
+    }
+
+    // Stream all assignments, newest first. Assignments carry a question collection, so they are
+    // walked in keyset chunks (each fetched with its questions) instead of a row cursor.
+    public void streamAssignments(Consumer<AssignmentDTO> consumer) {
+        Long cursor = null;
+        do {
+            CursorPageDTO<AssignmentDTO> page = getAssignmentsPage(cursor, STREAM_CHUNK_SIZE);
+            page.getItems().forEach(consumer);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+    }
+
+    // Get all assignments as summaries (no question payload; one aggregate query)
+    public List<AssignmentSummaryDTO> getAllAssignmentSummaries() {
+        LocalDateTime now = LocalDateTime.now();
+        return assignmentRepository.findAllSummaries().stream()
+                .map(summary -> convertToSummaryDTO(summary, now))
+                .collect(Collectors.toList());
+    }
+
+    // Get available assignments as summaries
+    public List<AssignmentSummaryDTO> getAvailableAssignmentSummaries() {
+        LocalDateTime now = LocalDateTime.now();
+        return assignmentRepository.findAvailableSummaries(now).stream()
+                .map(summary -> convertToSummaryDTO(summary, now))
+                .collect(Collectors.toList());
+    }
+
     // Get available assignments (based on current time)
     public List<AssignmentDTO> getAvailableAssignments() {
         LocalDateTime now = LocalDateTime.now();
@@ -46,18 +99,19 @@ public class AssignmentService {
 
     // Get assignment by ID
     public AssignmentDTO getAssignmentById(Long id) {
-        Assignment assignment = assignmentRepository.findByIdWithQuestions(id)
-                .orElseThrow(() -> new RuntimeException("Assignment not found with id: " + id));
-        return convertToDTO(assignment);
+        return convertToDTO(assignmentSnapshotCache.get(id));
+    }
+
+    // ETag of the assignment detail. Availability is part of it because it changes with time alone.
+    public String getAssignmentETag(Long id) {
+        AssignmentSnapshot assignment = assignmentSnapshotCache.get(id);
+        boolean available = assignment.isAvailableAt(LocalDateTime.now());
+        return "\"a" + id + "-" + assignment.getVersion() + (available ? "-open" : "-closed") + "\"";
     }
 
     // Check if assignment is available
     public boolean isAssignmentAvailable(Long id) {
-        Assignment assignment = assignmentRepository.findByIdWithQuestions(id)
-                .orElseThrow(() -> new RuntimeException("Assignment not found with id: " + id));
-
-        LocalDateTime now = LocalDateTime.now();
-        return !now.isBefore(assignment.getStartTime()) && !now.isAfter(assignment.getEndTime());
+        return assignmentSnapshotCache.get(id).isAvailableAt(LocalDateTime.now());
     }
 
     // Create new assignment
@@ -87,13 +141,7 @@ public class AssignmentService {
         assignment.setDuration(createDTO.getDuration());
 
         // Add selected questions
-        Set<Question> questions = new HashSet<>();
-        for (Long questionId : createDTO.getQuestionIds()) {
-            Question question = questionRepository.findById(questionId)
-                    .orElseThrow(() -> new RuntimeException("Question not found with id: " + questionId));
-            questions.add(question);
-        }
-        assignment.setQuestions(questions);
+        assignment.setQuestions(resolveQuestions(createDTO.getQuestionIds()));
 
         Assignment savedAssignment = assignmentRepository.save(assignment);
         return convertToDTO(savedAssignment);
@@ -123,16 +171,14 @@ public class AssignmentService {
         assignment.setEndTime(updateDTO.getEndTime());
         assignment.setDuration(updateDTO.getDuration());
 
-        // Update questions
-        Set<Question> questions = new HashSet<>();
-        for (Long questionId : updateDTO.getQuestionIds()) {
-            Question question = questionRepository.findById(questionId)
-                    .orElseThrow(() -> new RuntimeException("Question not found with id: " + questionId));
-            questions.add(question);
-        }
-        assignment.setQuestions(questions);
+        // Update questions in place, so only added and removed rows of assignment_questions are written
+        // (replacing the collection would delete and re-insert all of them)
+        Set<Question> questions = resolveQuestions(updateDTO.getQuestionIds());
+        assignment.getQuestions().retainAll(questions);
+        assignment.getQuestions().addAll(questions);
 
         Assignment updatedAssignment = assignmentRepository.save(assignment);
+        assignmentSnapshotCache.invalidate(id);
         return convertToDTO(updatedAssignment);
     }
 
@@ -143,10 +189,44 @@ public class AssignmentService {
             throw new RuntimeException("Assignment not found with id: " + id);
         }
         assignmentRepository.deleteById(id);
+        assignmentSnapshotCache.invalidate(id);
+    }
+
+    // Load the selected questions in one query; fails naming every ID that does not exist
+    private Set<Question> resolveQuestions(List<Long> questionIds) {
+        Set<Long> requested = new LinkedHashSet<>(questionIds);
+        List<Question> found = questionRepository.findAllById(requested);
+        if (found.size() < requested.size()) {
+            found.forEach(question -> requested.remove(question.getId()));
+            String missing = requested.stream().map(String::valueOf).collect(Collectors.joining(", "));
+            throw new RuntimeException(requested.size() == 1
+                    ? "Question not found with id: " + missing
+                    : "Questions not found with ids: " + missing);
+        }
+        return new HashSet<>(found);
+    }
+
+    // Convert summary projection to DTO
+    private AssignmentSummaryDTO convertToSummaryDTO(AssignmentSummary summary, LocalDateTime now) {
+        AssignmentSummaryDTO dto = new AssignmentSummaryDTO();
+        dto.setId(summary.getId());
+        dto.setName(summary.getName());
+        dto.setStartTime(summary.getStartTime());
+        dto.setEndTime(summary.getEndTime());
+        dto.setDuration(summary.getDuration());
+        dto.setQuestionCount(summary.getQuestionCount().intValue());
+        dto.setTotalPoints(summary.getTotalPoints().intValue());
+        dto.setIsAvailable(!now.isBefore(summary.getStartTime()) && !now.isAfter(summary.getEndTime()));
+        return dto;
     }
 
     // Convert Entity to DTO
     private AssignmentDTO convertToDTO(Assignment assignment) {
+        return convertToDTO(AssignmentSnapshot.of(assignment));
+    }
+
+    // Convert Snapshot to DTO
+    private AssignmentDTO convertToDTO(AssignmentSnapshot assignment) {
         AssignmentDTO dto = new AssignmentDTO();
         dto.setId(assignment.getId());
         dto.setName(assignment.getName());
@@ -155,23 +235,16 @@ public class AssignmentService {
         dto.setEndTime(assignment.getEndTime());
         dto.setDuration(assignment.getDuration());
 
-        // Convert questions (with answers for admin view)
+        // Convert questions (snapshot questions are already sorted by ID)
         List<QuestionDTO> questionDTOs = assignment.getQuestions().stream()
-                .sorted((q1, q2) -> q1.getId().compareTo(q2.getId())) // Sort by question ID
                 .map(questionService::convertToDTOWithoutAnswer) // Hide correct answers
                 .collect(Collectors.toList());
         dto.setQuestions(questionDTOs);
 
-        // Calculate total points
-        int totalPoints = assignment.getQuestions().stream()
-                .mapToInt(Question::getPoints)
-                .sum();
-        dto.setTotalPoints(totalPoints);
+        dto.setTotalPoints(assignment.getTotalPoints());
 
         // Check if available
-        LocalDateTime now = LocalDateTime.now();
-        boolean isAvailable = !now.isBefore(assignment.getStartTime()) && !now.isAfter(assignment.getEndTime());
-        dto.setIsAvailable(isAvailable);
+        dto.setIsAvailable(assignment.isAvailableAt(LocalDateTime.now()));
 
         return dto;
     }
@@ -0,0 +1,212 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.dto.AnswerDTO;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Incremental assignment analytics. Each submitted attempt adds its score, completion time and
+// per-question results to an in-memory delta once its transaction commits, and every
+// quiz.stats.flush-interval the deltas of all assignments are added to the stats tables in one
+// transaction. Submits therefore never wait on the stats rows of a busy assignment.
+// A crash loses at most one interval of deltas; AssignmentStatsService.recompute rebuilds exact values.
+@Component
+public class AssignmentStatsBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(AssignmentStatsBuffer.class);
+
+    static final int BUCKETS = 10;
+
+    // Rows are created on first use (skipped if the assignment is gone), then incremented
+    private static final String ENSURE_STATS_SQL = "INSERT INTO assignment_stats (assignment_id) "
+            + "SELECT id FROM assignments WHERE id = ? ON CONFLICT DO NOTHING";
+    private static final String UPDATE_STATS_SQL = "UPDATE assignment_stats SET submitted_count = submitted_count + ?, "
+            + "auto_submitted_count = auto_submitted_count + ?, score_sum = score_sum + ?, "
+            + "completion_millis_sum = completion_millis_sum + ?, updated_at = ? WHERE assignment_id = ?";
+    private static final String ENSURE_BUCKET_SQL = "INSERT INTO assignment_score_buckets (assignment_id, bucket) "
+            + "SELECT id, ? FROM assignments WHERE id = ? ON CONFLICT DO NOTHING";
+    private static final String UPDATE_BUCKET_SQL = "UPDATE assignment_score_buckets SET attempt_count = attempt_count + ? "
+            + "WHERE assignment_id = ? AND bucket = ?";
+    private static final String ENSURE_QUESTION_SQL = "INSERT INTO assignment_question_stats (assignment_id, question_id) "
+            + "SELECT id, ? FROM assignments WHERE id = ? ON CONFLICT DO NOTHING";
+    private static final String UPDATE_QUESTION_SQL = "UPDATE assignment_question_stats SET answered_count = answered_count + ?, "
+            + "correct_count = correct_count + ? WHERE assignment_id = ? AND question_id = ?";
+
+    // Keyed by assignment ID; sorted so that concurrent flushes lock rows in the same order
+    private Map<Long, Delta> pending = new TreeMap<>();
+
+    // Held by a flush from draining until its transaction ends, and by a rebuild, so a rebuild never runs
+    // while a drained batch is not written yet. A lock rather than a monitor: it is held across database calls
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Add a submitted attempt (with its graded answers) once the surrounding transaction commits
+    public void record(AttemptDTO attempt) {
+        Delta delta = new Delta();
+        delta.submitted = 1;
+        delta.autoSubmitted = "AUTO_SUBMITTED".equals(attempt.getStatus()) ? 1 : 0;
+        delta.scoreSum = attempt.getScore() == null ? 0 : attempt.getScore();
+        delta.completionMillisSum = Duration.between(attempt.getStartedAt(), attempt.getSubmittedAt()).toMillis();
+        delta.buckets[bucketOf(attempt.getScore(), attempt.getTotalPoints())] = 1;
+        for (AnswerDTO answer : attempt.getAnswers()) {
+            delta.question(answer.getQuestionId())[0] += answer.getSelectedAnswer() != null ? 1 : 0;
+            delta.question(answer.getQuestionId())[1] += Boolean.TRUE.equals(answer.getIsCorrect()) ? 1 : 0;
+        }
+
+        Long assignmentId = attempt.getAssignmentId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(assignmentId, delta);
+                }
+            });
+        } else {
+            add(assignmentId, delta);
+        }
+    }
+
+    // Histogram bucket of a score: tenths of the total points, a full score in the top bucket
+    static int bucketOf(Integer score, Integer totalPoints) {
+        if (score == null || totalPoints == null || totalPoints <= 0) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, score * BUCKETS / totalPoints);
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.stats.flush-interval:5s}")
+    public void flushAll() {
+        flushLock.lock();
+        try {
+            Map<Long, Delta> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(batch));
+            } catch (RuntimeException e) {
+                log.warn("Assignment stats flush failed, {} assignments will be retried", batch.size(), e);
+                batch.forEach(this::add);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushAll();
+    }
+
+    // Rebuild an assignment's stats from the tables in one transaction, with no flush running. Its pending
+    // deltas are dropped first: their attempts are committed, so the rebuild counts them already
+    <T> T rebuild(Long assignmentId, Supplier<T> rebuild) {
+        flushLock.lock();
+        try {
+            discard(assignmentId);
+            return transactionTemplate.execute(status -> rebuild.get());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private synchronized void discard(Long assignmentId) {
+        pending.remove(assignmentId);
+    }
+
+    // Add deltas to the stats tables in the caller's transaction
+    void apply(Map<Long, Delta> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> ensureStats = new ArrayList<>();
+        List<Object[]> stats = new ArrayList<>();
+        List<Object[]> ensureBuckets = new ArrayList<>();
+        List<Object[]> buckets = new ArrayList<>();
+        List<Object[]> ensureQuestions = new ArrayList<>();
+        List<Object[]> questions = new ArrayList<>();
+        for (Map.Entry<Long, Delta> entry : new TreeMap<>(deltas).entrySet()) {
+            Long assignmentId = entry.getKey();
+            Delta delta = entry.getValue();
+            ensureStats.add(new Object[] { assignmentId });
+            stats.add(new Object[] { delta.submitted, delta.autoSubmitted, delta.scoreSum, delta.completionMillisSum, now, assignmentId });
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                if (delta.buckets[bucket] > 0) {
+                    ensureBuckets.add(new Object[] { bucket, assignmentId });
+                    buckets.add(new Object[] { delta.buckets[bucket], assignmentId, bucket });
+                }
+            }
+            delta.questions.forEach((questionId, counts) -> {
+                ensureQuestions.add(new Object[] { questionId, assignmentId });
+                questions.add(new Object[] { counts[0], counts[1], assignmentId, questionId });
+            });
+        }
+        jdbcTemplate.batchUpdate(ENSURE_STATS_SQL, ensureStats);
+        jdbcTemplate.batchUpdate(UPDATE_STATS_SQL, stats);
+        jdbcTemplate.batchUpdate(ENSURE_BUCKET_SQL, ensureBuckets);
+        jdbcTemplate.batchUpdate(UPDATE_BUCKET_SQL, buckets);
+        jdbcTemplate.batchUpdate(ENSURE_QUESTION_SQL, ensureQuestions);
+        jdbcTemplate.batchUpdate(UPDATE_QUESTION_SQL, questions);
+    }
+
+    private synchronized void add(Long assignmentId, Delta delta) {
+        pending.merge(assignmentId, delta, Delta::plus);
+    }
+
+    private synchronized Map<Long, Delta> drain() {
+        Map<Long, Delta> drained = pending;
+        pending = new TreeMap<>();
+        return drained;
+    }
+
+    // Changes to one assignment's stats
+    static final class Delta {
+        int submitted;
+        int autoSubmitted;
+        long scoreSum;
+        long completionMillisSum;
+        final int[] buckets = new int[BUCKETS];
+        final Map<Long, int[]> questions = new TreeMap<>(); // question ID -> {answered, correct}
+
+        int[] question(Long questionId) {
+            return questions.computeIfAbsent(questionId, id -> new int[2]);
+        }
+
+        Delta plus(Delta other) {
+            submitted += other.submitted;
+            autoSubmitted += other.autoSubmitted;
+            scoreSum += other.scoreSum;
+            completionMillisSum += other.completionMillisSum;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                buckets[bucket] += other.buckets[bucket];
+            }
+            other.questions.forEach((questionId, counts) -> {
+                int[] own = question(questionId);
+                own[0] += counts[0];
+                own[1] += counts[1];
+            });
+            return this;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.dto.AssignmentStatsDTO;
+import com.onlinequiz.online_quiz.dto.QuestionStatsDTO;
+import com.onlinequiz.online_quiz.dto.ScoreBucketDTO;
+import com.onlinequiz.online_quiz.repository.AnswerRepository;
+import com.onlinequiz.online_quiz.repository.AssignmentRepository;
+import com.onlinequiz.online_quiz.repository.AttemptRepository;
+import com.onlinequiz.online_quiz.repository.projection.AttemptAnswerVector;
+import com.onlinequiz.online_quiz.repository.projection.AttemptTotals;
+import com.onlinequiz.online_quiz.repository.projection.QuestionResultCount;
+import com.onlinequiz.online_quiz.repository.projection.ScoreBucketCount;
+import com.onlinequiz.online_quiz.service.AssignmentStatsBuffer.Delta;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Per-assignment analytics read from the incrementally maintained stats tables (see AssignmentStatsBuffer),
+// so no attempt or answer rows are loaded. Stats trail submits by up to quiz.stats.flush-interval.
+@Observed(name = "quiz.service")
+@Service
+public class AssignmentStatsService {
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AttemptRepository attemptRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private AssignmentStatsBuffer assignmentStatsBuffer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Submission counts, averages and the score histogram
+    public AssignmentStatsDTO getStats(Long assignmentId) {
+        requireAssignment(assignmentId);
+        AssignmentStatsDTO dto = new AssignmentStatsDTO();
+        dto.setAssignmentId(assignmentId);
+        dto.setSubmittedCount(0);
+        dto.setAutoSubmittedCount(0);
+        jdbcTemplate.query("SELECT submitted_count, auto_submitted_count, score_sum, completion_millis_sum, updated_at "
+                + "FROM assignment_stats WHERE assignment_id = ?", rs -> {
+            int submitted = rs.getInt("submitted_count");
+            dto.setSubmittedCount(submitted);
+            dto.setAutoSubmittedCount(rs.getInt("auto_submitted_count"));
+            if (submitted > 0) {
+                dto.setAverageScore((double) rs.getLong("score_sum") / submitted);
+                dto.setAverageCompletionSeconds(rs.getLong("completion_millis_sum") / 1000.0 / submitted);
+            }
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            dto.setUpdatedAt(updatedAt == null ? null : updatedAt.toLocalDateTime());
+        }, assignmentId);
+
+        int[] counts = new int[AssignmentStatsBuffer.BUCKETS];
+        jdbcTemplate.query("SELECT bucket, attempt_count FROM assignment_score_buckets WHERE assignment_id = ?",
+                rs -> { counts[rs.getInt("bucket")] = rs.getInt("attempt_count"); }, assignmentId);
+        List<ScoreBucketDTO> histogram = new ArrayList<>();
+        for (int bucket = 0; bucket < AssignmentStatsBuffer.BUCKETS; bucket++) {
+            histogram.add(new ScoreBucketDTO(bucket * 10, (bucket + 1) * 10, counts[bucket]));
+        }
+        dto.setScoreHistogram(histogram);
+        return dto;
+    }
+
+    // Answered and correct counts per question, ordered by question ID
+    public List<QuestionStatsDTO> getQuestionStats(Long assignmentId) {
+        requireAssignment(assignmentId);
+        List<Integer> submitted = jdbcTemplate.queryForList(
+                "SELECT submitted_count FROM assignment_stats WHERE assignment_id = ?", Integer.class, assignmentId);
+        int submittedCount = submitted.isEmpty() ? 0 : submitted.get(0);
+        return jdbcTemplate.query("SELECT question_id, answered_count, correct_count FROM assignment_question_stats "
+                + "WHERE assignment_id = ? ORDER BY question_id", (rs, rowNum) -> {
+            QuestionStatsDTO dto = new QuestionStatsDTO();
+            dto.setQuestionId(rs.getLong("question_id"));
+            dto.setAnsweredCount(rs.getInt("answered_count"));
+            dto.setCorrectCount(rs.getInt("correct_count"));
+            dto.setCorrectRate(submittedCount > 0 ? (double) dto.getCorrectCount() / submittedCount : null);
+            return dto;
+        }, assignmentId);
+    }
+
+    // Rebuild the stats of an assignment from its attempts and answers with SQL aggregation (backfill and repair).
+    // Runs while no stats flush is in progress and after the assignment's buffered deltas are dropped, so
+    // buffered or half-flushed submits are not counted twice; only a submit committing during the queries can be
+    public AssignmentStatsDTO recompute(Long assignmentId) {
+        requireAssignment(assignmentId);
+        return assignmentStatsBuffer.rebuild(assignmentId, () -> rebuild(assignmentId));
+    }
+
+    private AssignmentStatsDTO rebuild(Long assignmentId) {
+        jdbcTemplate.update("DELETE FROM assignment_question_stats WHERE assignment_id = ?", assignmentId);
+        jdbcTemplate.update("DELETE FROM assignment_score_buckets WHERE assignment_id = ?", assignmentId);
+        jdbcTemplate.update("DELETE FROM assignment_stats WHERE assignment_id = ?", assignmentId);
+
+        Delta totals = new Delta();
+        AttemptTotals attempts = attemptRepository.findTotalsByAssignmentId(assignmentId);
+        totals.submitted = attempts.getSubmittedCount().intValue();
+        totals.autoSubmitted = attempts.getAutoSubmittedCount().intValue();
+        totals.scoreSum = attempts.getScoreSum();
+        totals.completionMillisSum = attempts.getCompletionMillisSum();
+        for (ScoreBucketCount bucket : attemptRepository.findScoreBucketsByAssignmentId(assignmentId)) {
+            totals.buckets[bucket.getBucket()] = bucket.getAttemptCount().intValue();
+        }
+        for (QuestionResultCount question : answerRepository.findQuestionResultsByAssignmentId(assignmentId)) {
+            int[] counts = totals.question(question.getQuestionId());
+            counts[0] = question.getAnsweredCount().intValue();
+            counts[1] = question.getCorrectCount().intValue();
+        }
+        // Attempts stored as answer vectors are counted in memory
+        for (AttemptAnswerVector stored : attemptRepository.findAnswerVectorsByAssignmentId(assignmentId)) {
+            AnswerVector vector = AnswerVector.of(stored.getAnswerQuestionIds(), stored.getAnswerVector());
+            for (int i = 0; i < vector.size(); i++) {
+                int[] counts = totals.question(vector.questionId(i));
+                counts[0] += vector.selectedAnswer(i) != null ? 1 : 0;
+                counts[1] += vector.isCorrect(i) ? 1 : 0;
+            }
+        }
+        assignmentStatsBuffer.apply(Map.of(assignmentId, totals));
+        return getStats(assignmentId);
+    }
+
+    private void requireAssignment(Long assignmentId) {
+        if (!assignmentRepository.existsById(assignmentId)) {
+            throw new RuntimeException("Assignment not found with id: " + assignmentId);
+        }
+    }
+}
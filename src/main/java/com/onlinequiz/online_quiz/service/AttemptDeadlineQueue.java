@@ -0,0 +1,117 @@
+package com.onlinequiz.online_quiz.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// In-memory deadlines of in-progress attempts, ordered so the earliest deadline is polled first.
+// Untracking is lazy: the current deadline of each attempt is kept in a map and heap entries that
+// no longer match it are discarded when they reach the head of the queue.
+@Component
+public class AttemptDeadlineQueue {
+
+    private final PriorityQueue<Expiry> queue = new PriorityQueue<>(
+            Comparator.comparing(Expiry::getDeadline).thenComparing(Expiry::getAttemptId));
+
+    private final Map<Long, LocalDateTime> deadlines = new HashMap<>();
+
+    // submitAnswer accepts answers until the elapsed whole minutes exceed the duration,
+    // so the default grace keeps the sweeper from closing an attempt before that
+    @Value("${quiz.attempts.expiry.grace:1m}")
+    private Duration grace;
+
+    // Deadline of an attempt started at startedAt with the given duration in minutes
+    public LocalDateTime deadlineOf(LocalDateTime startedAt, int duration) {
+        return startedAt.plusMinutes(duration).plus(grace);
+    }
+
+    // Track (or re-track) an attempt once the surrounding transaction commits
+    public void track(Long attemptId, LocalDateTime startedAt, int duration) {
+        LocalDateTime deadline = deadlineOf(startedAt, duration);
+        afterCommit(() -> add(attemptId, deadline));
+    }
+
+    // Put back an attempt that could not be submitted so the next sweep retries it,
+    // unless it was re-tracked with a new deadline meanwhile
+    synchronized void requeue(Expiry expiry) {
+        if (!deadlines.containsKey(expiry.getAttemptId())) {
+            add(expiry.getAttemptId(), expiry.getDeadline());
+        }
+    }
+
+    // Stop tracking an attempt once the surrounding transaction commits
+    public void untrack(Long attemptId) {
+        afterCommit(() -> remove(attemptId));
+    }
+
+    // Remove and return up to max attempts whose deadline is at or before now, earliest first
+    public synchronized List<Expiry> pollExpired(LocalDateTime now, int max) {
+        List<Expiry> expired = new ArrayList<>();
+        while (expired.size() < max && !queue.isEmpty() && !queue.peek().getDeadline().isAfter(now)) {
+            Expiry expiry = queue.poll();
+            if (expiry.getDeadline().equals(deadlines.get(expiry.getAttemptId()))) {
+                deadlines.remove(expiry.getAttemptId());
+                expired.add(expiry);
+            }
+        }
+        return expired;
+    }
+
+    public synchronized boolean isTracked(Long attemptId) {
+        return deadlines.containsKey(attemptId);
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    private synchronized void add(Long attemptId, LocalDateTime deadline) {
+        deadlines.put(attemptId, deadline);
+        queue.add(new Expiry(attemptId, deadline));
+    }
+
+    private synchronized void remove(Long attemptId) {
+        deadlines.remove(attemptId);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public static final class Expiry {
+        private final Long attemptId;
+        private final LocalDateTime deadline;
+
+        Expiry(Long attemptId, LocalDateTime deadline) {
+            this.attemptId = attemptId;
+            this.deadline = deadline;
+        }
+
+        public Long getAttemptId() {
+            return attemptId;
+        }
+
+        public LocalDateTime getDeadline() {
+            return deadline;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.onlinequiz.online_quiz.dto.AttemptEventDTO;
+import com.onlinequiz.online_quiz.repository.AttemptRepository;
+import com.onlinequiz.online_quiz.repository.projection.AttemptDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Server-sent events for open exam tabs, replacing polling of GET /api/attempts/{id}.
+// Subscribers get a "tick" event with the remaining time every quiz.attempts.events.tick-interval and a
+// final "submitted" event once the attempt is submitted by the student or auto-submitted by the sweeper.
+// Subscribing costs one projection query; ticks for every subscriber come from one task on a dedicated
+// thread and need no database work. Sends block on slow clients, so neither the tick nor the submitting
+// request sends: each stream has a one-event outbox drained on a small sender pool, and a stream whose
+// send has been in progress for longer than quiz.attempts.events.send-timeout is dropped.
+// Subscriptions are per instance, like the deadline queue.
+@Component
+public class AttemptEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptEventBroadcaster.class);
+
+    private static final Duration MIN_TIMEOUT = Duration.ofMinutes(1);
+
+    // Each stream has at most one send queued or running
+    private static final int MAX_QUEUED_SENDS = 10_000;
+
+    private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    // Final events of recently submitted attempts, for subscribers that connect while the submit commits
+    private final Cache<Long, AttemptEventDTO> recentlySubmitted = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    @Autowired
+    private AttemptRepository attemptRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${quiz.attempts.expiry.grace:1m}")
+    private Duration grace;
+
+    @Value("${quiz.attempts.events.tick-interval:1s}")
+    private Duration tickInterval;
+
+    @Value("${quiz.attempts.events.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${quiz.attempts.events.send-timeout:5s}")
+    private Duration sendTimeout;
+
+    private ScheduledExecutorService ticker;
+
+    private ThreadPoolExecutor sender;
+
+    private Counter droppedCounter;
+
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("quiz.attempts.events.subscribers", this, AttemptEventBroadcaster::getSubscriberCount)
+                .description("Open attempt event streams")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("quiz.attempts.events.dropped")
+                .description("Event streams dropped because a send did not finish within the send timeout")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startTicker() {
+        sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_SENDS),
+                Thread.ofPlatform().name("attempt-events-send-", 0).daemon().factory());
+        ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("attempt-events").daemon().factory());
+        long periodMillis = tickInterval.toMillis();
+        ticker.scheduleAtFixedRate(this::tickSafely, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopTicker() {
+        ticker.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    // Open an event stream for an attempt; it ends with the submitted event, or times out once the
+    // sweeper should have auto-submitted the attempt (EventSource clients then reconnect)
+    public SseEmitter subscribe(Long attemptId) {
+        AttemptDeadline attempt = attemptRepository.findDeadlineById(attemptId)
+                .orElseThrow(() -> new RuntimeException("Attempt not found with id: " + attemptId));
+        LocalDateTime endsAt = attempt.getStartedAt().plusMinutes(attempt.getDuration());
+        LocalDateTime now = LocalDateTime.now();
+
+        // An overdue attempt still waiting for the sweeper gets the minimum rather than a negative timeout,
+        // which the container would treat as no timeout at all
+        Duration timeout = Duration.between(now, endsAt).plus(grace).plusMinutes(1);
+        SseEmitter emitter = new SseEmitter(Math.max(MIN_TIMEOUT.toMillis(), timeout.toMillis()));
+        if (!"IN_PROGRESS".equals(attempt.getStatus())) {
+            AttemptEventDTO submitted = recentlySubmitted.getIfPresent(attemptId);
+            sendAndComplete(emitter, submitted != null ? submitted
+                    : new AttemptEventDTO(attemptId, attempt.getStatus(), 0, attempt.getScore()));
+            return emitter;
+        }
+
+        Outbox outbox = register(attemptId, endsAt, emitter);
+        AttemptEventDTO submitted = recentlySubmitted.getIfPresent(attemptId);
+        if (submitted != null) {
+            publish(submitted);
+        } else {
+            send(outbox, "tick", tick(attemptId, endsAt, now));
+        }
+        return emitter;
+    }
+
+    // Add a stream of an in-progress attempt ending at endsAt
+    Outbox register(Long attemptId, LocalDateTime endsAt, SseEmitter emitter) {
+        Outbox outbox = new Outbox(attemptId, emitter);
+        subscriptions.compute(attemptId, (id, subscription) -> {
+            Subscription target = subscription != null ? subscription : new Subscription(endsAt);
+            target.outboxes.add(outbox);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(outbox));
+        emitter.onTimeout(() -> unsubscribe(outbox));
+        emitter.onError(error -> unsubscribe(outbox));
+        return outbox;
+    }
+
+    // Queue the final event once the transaction that submitted the attempt commits
+    public void submitted(Long attemptId, String status, Integer score) {
+        AttemptEventDTO event = new AttemptEventDTO(attemptId, status, 0, score);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+
+    // One pass over every subscriber, computed from the in-memory deadlines; runs on the ticker thread
+    // and only queues the ticks
+    public void tickAll() {
+        LocalDateTime now = LocalDateTime.now();
+        subscriptions.forEach((attemptId, subscription) -> {
+            AttemptEventDTO event = tick(attemptId, subscription.endsAt, now);
+            for (Outbox outbox : subscription.outboxes) {
+                send(outbox, "tick", event);
+            }
+        });
+    }
+
+    // An exception escaping a periodic task would cancel all later ticks
+    private void tickSafely() {
+        try {
+            tickAll();
+        } catch (RuntimeException e) {
+            log.warn("Attempt event tick failed", e);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.values().stream().mapToInt(subscription -> subscription.outboxes.size()).sum();
+    }
+
+    private void publish(AttemptEventDTO event) {
+        recentlySubmitted.put(event.getAttemptId(), event);
+        Subscription subscription = subscriptions.remove(event.getAttemptId());
+        if (subscription != null) {
+            for (Outbox outbox : subscription.outboxes) {
+                if (!outbox.offer("submitted", event, true)) {
+                    droppedCounter.increment();
+                }
+            }
+        }
+    }
+
+    private AttemptEventDTO tick(Long attemptId, LocalDateTime endsAt, LocalDateTime now) {
+        long remainingSeconds = Math.max(0, Duration.between(now, endsAt).getSeconds());
+        return new AttemptEventDTO(attemptId, "IN_PROGRESS", (int) remainingSeconds, null);
+    }
+
+    private void send(Outbox outbox, String name, AttemptEventDTO event) {
+        if (!outbox.offer(name, event, false)) {
+            droppedCounter.increment();
+            unsubscribe(outbox);
+        }
+    }
+
+    // Only for streams that are not registered yet: the emitter buffers the event until the response starts
+    private void sendAndComplete(SseEmitter emitter, AttemptEventDTO event) {
+        try {
+            emitter.send(SseEmitter.event().name("submitted").data(event));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // client already gone
+        }
+    }
+
+    private void unsubscribe(Outbox outbox) {
+        subscriptions.computeIfPresent(outbox.attemptId, (id, subscription) -> {
+            subscription.outboxes.remove(outbox);
+            return subscription.outboxes.isEmpty() ? null : subscription;
+        });
+    }
+
+    // Open streams of one attempt; several tabs may follow the same attempt
+    private static final class Subscription {
+        final LocalDateTime endsAt;
+        final List<Outbox> outboxes = new CopyOnWriteArrayList<>();
+
+        Subscription(LocalDateTime endsAt) {
+            this.endsAt = endsAt;
+        }
+    }
+
+    // The next event of one stream, sent on the sender pool. A newer tick replaces one not sent yet, so a
+    // slow client only ever has one event waiting; the final event is never replaced and completes the stream.
+    // The emitter is only touched on the sender thread: completing it elsewhere would wait for a blocked send.
+    final class Outbox implements Runnable {
+        private final Long attemptId;
+        private final SseEmitter emitter;
+        private String nextName;
+        private AttemptEventDTO next;
+        private boolean last;
+        private boolean running;
+        private long sendingSince;
+        private boolean dropped;
+
+        Outbox(Long attemptId, SseEmitter emitter) {
+            this.attemptId = attemptId;
+            this.emitter = emitter;
+        }
+
+        // False once the stream is dropped: a send has been running for longer than the send timeout,
+        // it failed, or the sender pool is full
+        synchronized boolean offer(String name, AttemptEventDTO event, boolean complete) {
+            if (dropped) {
+                return false;
+            }
+            if (sendingSince != 0 && System.nanoTime() - sendingSince > sendTimeout.toNanos()) {
+                dropped = true;
+                return false;
+            }
+            if (last) {
+                return true;
+            }
+            nextName = name;
+            next = event;
+            last = complete;
+            if (!running) {
+                try {
+                    sender.execute(this);
+                    running = true;
+                } catch (RejectedExecutionException e) {
+                    dropped = true;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                String name;
+                AttemptEventDTO event;
+                boolean complete;
+                synchronized (this) {
+                    if (dropped || next == null) {
+                        running = false;
+                        break;
+                    }
+                    name = nextName;
+                    event = next;
+                    complete = last;
+                    next = null;
+                    sendingSince = System.nanoTime();
+                }
+                try {
+                    emitter.send(SseEmitter.event().name(name).data(event));
+                    if (complete) {
+                        emitter.complete();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // A failed send means the client is gone; the container then completes the emitter
+                    synchronized (this) {
+                        dropped = true;
+                    }
+                    unsubscribe(this);
+                }
+                synchronized (this) {
+                    sendingSince = 0;
+                }
+            }
+            if (isDropped()) {
+                completeQuietly();
+            }
+        }
+
+        private synchronized boolean isDropped() {
+            return dropped;
+        }
+
+        private void completeQuietly() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // already completed
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.repository.AttemptRepository;
+import com.onlinequiz.online_quiz.repository.projection.AttemptDeadline;
+import com.onlinequiz.online_quiz.service.AttemptDeadlineQueue.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Auto-submits attempts whose time has run out, whether or not the student is still sending answers.
+// Deadlines of in-progress attempts are loaded once at startup and then kept up to date by
+// AttemptService, so each sweep only looks at the head of the deadline queue instead of polling
+// every attempt. Each expired attempt is scored in its own transaction so one failure cannot
+// roll back the rest of the batch.
+// Metrics: quiz.attempts.auto_submitted (throughput), quiz.attempts.expiry.lag (deadline to
+// auto-submit delay), quiz.attempts.expiry.failures and quiz.attempts.expiry.tracked.
+@Component
+public class AttemptExpirySweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptExpirySweeper.class);
+
+    @Autowired
+    private AttemptDeadlineQueue attemptDeadlineQueue;
+
+    @Autowired
+    private AttemptRepository attemptRepository;
+
+    @Autowired
+    private AttemptService attemptService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${quiz.attempts.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quiz.attempts.expiry.batch-size:200}")
+    private int batchSize;
+
+    private Counter autoSubmitted;
+    private Counter failures;
+    private Timer lag;
+
+    @PostConstruct
+    void registerMeters() {
+        autoSubmitted = Counter.builder("quiz.attempts.auto_submitted")
+                .description("Attempts auto-submitted by the expiry sweeper")
+                .register(meterRegistry);
+        failures = Counter.builder("quiz.attempts.expiry.failures")
+                .description("Expired attempts the sweeper failed to submit")
+                .register(meterRegistry);
+        lag = Timer.builder("quiz.attempts.expiry.lag")
+                .description("Delay between an attempt's deadline and its auto-submit")
+                .register(meterRegistry);
+        Gauge.builder("quiz.attempts.expiry.tracked", attemptDeadlineQueue, AttemptDeadlineQueue::size)
+                .description("In-progress attempts waiting for their deadline")
+                .register(meterRegistry);
+    }
+
+    // Rebuild the deadline queue from the attempts still in progress
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInProgressAttempts() {
+        List<AttemptDeadline> inProgress = attemptRepository.findDeadlinesByStatus("IN_PROGRESS");
+        for (AttemptDeadline attempt : inProgress) {
+            attemptDeadlineQueue.track(attempt.getId(), attempt.getStartedAt(), attempt.getDuration());
+        }
+        log.info("Tracking deadlines of {} in-progress attempts", inProgress.size());
+    }
+
+    // Auto-submit every attempt past its deadline, batchSize attempts at a time. Failed attempts are
+    // put back only after the loop, so a sweep never polls them again while the database is down
+    @Scheduled(fixedDelayString = "${quiz.attempts.expiry.sweep-interval:5s}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        List<Expiry> failed = new ArrayList<>();
+        List<Expiry> batch;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            batch = attemptDeadlineQueue.pollExpired(now, batchSize);
+            for (Expiry expiry : batch) {
+                if (!autoSubmit(expiry, now)) {
+                    failed.add(expiry);
+                }
+            }
+        } while (batch.size() == batchSize);
+        failed.forEach(attemptDeadlineQueue::requeue);
+    }
+
+    // Returns false when the attempt is still in progress and should be retried on the next sweep
+    private boolean autoSubmit(Expiry expiry, LocalDateTime now) {
+        Long attemptId = expiry.getAttemptId();
+        try {
+            attemptService.submitAttempt(attemptId, true);
+            autoSubmitted.increment();
+            lag.record(Duration.between(expiry.getDeadline(), now));
+            return true;
+        } catch (RuntimeException e) {
+            // Submitted meanwhile (by the student or another instance) or deleted: nothing left to do
+            if (!isStillInProgress(attemptId)) {
+                return true;
+            }
+            failures.increment();
+            log.warn("Auto-submit of attempt {} failed, retrying on the next sweep", attemptId, e);
+            return false;
+        }
+    }
+
+    private boolean isStillInProgress(Long attemptId) {
+        try {
+            return attemptRepository.findByIdAndStatus(attemptId, "IN_PROGRESS").isPresent();
+        } catch (RuntimeException e) {
+            return true; // database unavailable, keep the attempt queued
+        }
+    }
+}
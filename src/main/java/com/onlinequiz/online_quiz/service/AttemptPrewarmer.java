@@ -0,0 +1,100 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.cache.AssignmentSnapshotCache;
+import com.onlinequiz.online_quiz.repository.AssignmentRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Gets the start path ready before an exam opens, so the start burst is mostly memory work.
+// Every interval, assignments starting within quiz.attempts.prewarm.lead have their snapshot
+// (questions and answer key) reloaded into AssignmentSnapshotCache, and the connection pool's minimum
+// idle size is raised to its maximum size, so Hikari opens the missing connections in the background
+// without taking any from live requests. Once nothing is about to start, the configured minimum is
+// restored and the extra connections retire after Hikari's idle timeout. Raising the minimum only has an
+// effect when spring.datasource.hikari.minimum-idle is set below the maximum pool size; by default Hikari
+// keeps the pool full already. Keep the lead below the snapshot TTL. Metrics: quiz.attempts.prewarm.assignments.
+@Component
+public class AttemptPrewarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptPrewarmer.class);
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentSnapshotCache assignmentSnapshotCache;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${quiz.attempts.prewarm.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quiz.attempts.prewarm.lead:5m}")
+    private Duration lead;
+
+    private Counter warmedAssignments;
+
+    // Minimum idle size the pool was configured with, restored when no assignment is about to start
+    private int configuredMinimumIdle = -1;
+
+    @PostConstruct
+    void registerMeters() {
+        warmedAssignments = Counter.builder("quiz.attempts.prewarm.assignments")
+                .description("Snapshots of upcoming assignments loaded ahead of their start time")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.attempts.prewarm.interval:1m}")
+    public void prewarm() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> upcoming = assignmentRepository.findIdsStartingBetween(now, now.plus(lead));
+        keepPoolFull(!upcoming.isEmpty());
+        if (upcoming.isEmpty()) {
+            return;
+        }
+        for (Long assignmentId : upcoming) {
+            try {
+                assignmentSnapshotCache.refresh(assignmentId);
+                warmedAssignments.increment();
+            } catch (RuntimeException e) {
+                // Deleted meanwhile, or the database is unavailable; the next pass tries again
+                log.warn("Pre-warming assignment {} failed", assignmentId, e);
+            }
+        }
+    }
+
+    // Hikari's housekeeper opens connections up to the minimum idle size on its own thread, so raising
+    // it never borrows a connection or waits on a busy pool
+    private void keepPoolFull(boolean full) {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            return;
+        }
+        if (configuredMinimumIdle < 0) {
+            configuredMinimumIdle = hikari.getMinimumIdle();
+        }
+        int minimumIdle = full ? hikari.getMaximumPoolSize() : configuredMinimumIdle;
+        if (hikari.getMinimumIdle() != minimumIdle) {
+            hikari.setMinimumIdle(minimumIdle);
+        }
+    }
+}
@@ -1,24 +1,50 @@
 package com.onlinequiz.online_quiz.service;
 
+import com.onlinequiz.online_quiz.cache.AnswerKey;
+import com.onlinequiz.online_quiz.cache.AssignmentSnapshot;
+import com.onlinequiz.online_quiz.cache.AssignmentSnapshotCache;
+import com.onlinequiz.online_quiz.cache.QuestionSnapshot;
 import com.onlinequiz.online_quiz.dto.AnswerDTO;
 import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.AttemptStatusDTO;
+import com.onlinequiz.online_quiz.dto.CursorPageDTO;
+import com.onlinequiz.online_quiz.dto.QuestionDTO;
 import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
 import com.onlinequiz.online_quiz.entity.Answer;
-import com.onlinequiz.online_quiz.entity.Assignment;
 import com.onlinequiz.online_quiz.entity.Attempt;
 import com.onlinequiz.online_quiz.entity.Question;
 import com.onlinequiz.online_quiz.repository.AnswerRepository;
 import com.onlinequiz.online_quiz.repository.AssignmentRepository;
 import com.onlinequiz.online_quiz.repository.AttemptRepository;
+import com.onlinequiz.online_quiz.repository.QuestionRepository;
+import com.onlinequiz.online_quiz.repository.projection.AnswerSelection;
+import com.onlinequiz.online_quiz.repository.projection.AnswerView;
+import com.onlinequiz.online_quiz.repository.projection.AttemptStatus;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Observed(name = "quiz.service")
 @Service
 public class AttemptService {
 
@@ -32,67 +58,286 @@ public class AttemptService {
     private AnswerRepository answerRepository;
 
     @Autowired
-    private AssignmentService assignmentService;
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AssignmentSnapshotCache assignmentSnapshotCache;
+
+    @Autowired
+    private AnswerWriteBuffer answerWriteBuffer;
+
+    @Autowired
+    private AttemptDeadlineQueue attemptDeadlineQueue;
+
+    @Autowired
+    private AttemptEventBroadcaster attemptEventBroadcaster;
+
+    @Autowired
+    private AssignmentStatsBuffer assignmentStatsBuffer;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // How new attempts store their answers: "rows" (one answers row per question) or "vector"
+    // (packed into the attempt, see AnswerVector). Existing attempts keep the storage they started with.
+    @Value("${quiz.answers.storage:rows}")
+    private String answerStorage;
+
+    // Give each new attempt its own question and option order (see AttemptShuffle)
+    @Value("${quiz.attempts.shuffle.enabled:false}")
+    private boolean shuffle;
+
+    @PostConstruct
+    void checkAnswerStorage() {
+        if (!"rows".equals(answerStorage) && !"vector".equals(answerStorage)) {
+            throw new IllegalStateException("quiz.answers.storage must be rows or vector, not " + answerStorage);
+        }
+        if ("vector".equals(answerStorage) && answerWriteBuffer.isEnabled()) {
+            throw new IllegalStateException("quiz.answers.storage=vector does not support quiz.answers.write-behind.enabled");
+        }
+    }
 
     // Start a new attempt
     @Transactional
     public AttemptDTO startAttempt(Long assignmentId) {
-        // Check if assignment exists
-        Assignment assignment = assignmentRepository.findById(assignmentId)
-                .orElseThrow(() -> new RuntimeException("Assignment not found with id: " + assignmentId));
+        // Check if assignment exists (served from the snapshot cache)
+        AssignmentSnapshot assignment = assignmentSnapshotCache.get(assignmentId);
 
         // Check if assignment is available
-        if (!assignmentService.isAssignmentAvailable(assignmentId)) {
+        if (!assignment.isAvailableAt(LocalDateTime.now())) {
             throw new RuntimeException("This assignment is not available at this time.");
         }
 
-        // Create new attempt
+        // Create new attempt (the assignment and questions are referenced by ID, not reloaded)
         Attempt attempt = new Attempt();
-        attempt.setAssignment(assignment);
+        attempt.setAssignment(assignmentRepository.getReferenceById(assignmentId));
         attempt.setStartedAt(LocalDateTime.now());
         attempt.setStatus("IN_PROGRESS");
+        attempt.setTotalPoints(assignment.getTotalPoints());
+        if (shuffle) {
+            attempt.setShuffleSeed(ThreadLocalRandom.current().nextLong());
+        }
 
-        // Calculate total points
-        int totalPoints = assignment.getQuestions().stream()
-                .mapToInt(Question::getPoints)
-                .sum();
-        attempt.setTotalPoints(totalPoints);
+        boolean vectorStorage = "vector".equals(answerStorage);
+        if (vectorStorage) {
+            // Empty answers in the attempt row itself, in the snapshot's question order
+            AnswerVector.create(assignment.getQuestions().stream().map(QuestionSnapshot::getId).toList()).writeTo(attempt);
+        }
 
         Attempt savedAttempt = attemptRepository.save(attempt);
 
-        // Create answer records for all questions
-        for (Question question : assignment.getQuestions()) {
-            Answer answer = new Answer();
-            answer.setAttempt(savedAttempt);
-            answer.setQuestion(question);
-            answer.setMarkedForReview(false);
-            answerRepository.save(answer);
+        // Create answer records for all questions (flushed as one JDBC batch)
+        List<Answer> answers = new ArrayList<>(vectorStorage ? 0 : assignment.getQuestions().size());
+        if (!vectorStorage) {
+            for (QuestionSnapshot question : assignment.getQuestions()) {
+                Answer answer = new Answer();
+                answer.setAttempt(savedAttempt);
+                answer.setQuestion(questionRepository.getReferenceById(question.getId()));
+                answer.setMarkedForReview(false);
+                answers.add(answer);
+            }
+            answerRepository.saveAll(answers);
         }
 
-        return convertToDTO(savedAttempt);
+        // Let the expiry sweeper auto-submit the attempt when its time runs out
+        attemptDeadlineQueue.track(savedAttempt.getId(), savedAttempt.getStartedAt(), assignment.getDuration());
+
+        // Build the response from the snapshot instead of reading the new rows back
+        List<AnswerDTO> answerDTOs = new ArrayList<>(assignment.getQuestions().size());
+        for (int i = 0; i < assignment.getQuestions().size(); i++) {
+            AnswerDTO dto = new AnswerDTO();
+            dto.setId(vectorStorage ? null : answers.get(i).getId());
+            dto.setQuestionId(assignment.getQuestions().get(i).getId());
+            dto.setMarkedForReview(false);
+            dto.setCorrectOption(assignment.getQuestions().get(i).getCorrectOption());
+            answerDTOs.add(dto);
+        }
+        return convertToDTO(savedAttempt, assignment.getName(), assignment.getDuration(), answerDTOs);
     }
 
     // Get attempt by ID
     public AttemptDTO getAttemptById(Long id) {
-        Attempt attempt = attemptRepository.findById(id)
+        return getAttemptById(id, true, true);
+    }
+
+    // Get attempt by ID with only the requested parts; without answers they are neither flushed nor loaded
+    public AttemptDTO getAttemptById(Long id, boolean includeAnswers, boolean includeCorrectOptions) {
+        if (includeAnswers) {
+            answerWriteBuffer.flush(id);
+        }
+        Attempt attempt = attemptRepository.findWithAssignmentById(id)
                 .orElseThrow(() -> new RuntimeException("Attempt not found with id: " + id));
-        return convertToDTO(attempt);
+        if (!includeAnswers) {
+            return convertToDTO(attempt, null);
+        }
+        AttemptDTO dto = convertToDTO(attempt);
+        if (!includeCorrectOptions) {
+            dto.getAnswers().forEach(answer -> answer.setCorrectOption(null));
+        }
+        return dto;
+    }
+
+    // Status and remaining time only, from one projection query (heartbeat for exam pages)
+    public AttemptStatusDTO getAttemptStatus(Long id) {
+        AttemptStatus attempt = attemptRepository.findStatusById(id)
+                .orElseThrow(() -> new RuntimeException("Attempt not found with id: " + id));
+        AttemptStatusDTO dto = new AttemptStatusDTO();
+        dto.setId(attempt.getId());
+        dto.setAssignmentId(attempt.getAssignmentId());
+        dto.setStatus(attempt.getStatus());
+        dto.setStartedAt(attempt.getStartedAt());
+        dto.setSubmittedAt(attempt.getSubmittedAt());
+        dto.setScore(attempt.getScore());
+        dto.setTotalPoints(attempt.getTotalPoints());
+        if ("IN_PROGRESS".equals(attempt.getStatus())) {
+            dto.setRemainingTimeSeconds(remainingSeconds(attempt.getStartedAt(), attempt.getDuration()));
+        }
+        return dto;
+    }
+
+    // Questions of an attempt without correct answers, in the order and with the options its student sees.
+    // Shuffled options keep their own numbers: optionOrder lists the number of the option shown at A-D,
+    // and that number is what the student submits. One projection query; the questions come from the snapshot cache.
+    public List<QuestionDTO> getAttemptQuestions(Long id) {
+        AttemptStatus attempt = attemptRepository.findStatusById(id)
+                .orElseThrow(() -> new RuntimeException("Attempt not found with id: " + id));
+        Long seed = attempt.getShuffleSeed();
+        List<QuestionSnapshot> questions = assignmentSnapshotCache.get(attempt.getAssignmentId()).getQuestions();
+
+        List<QuestionDTO> questionDTOs = new ArrayList<>(questions.size());
+        for (QuestionSnapshot question : questions) {
+            QuestionDTO dto = questionService.convertToDTOWithoutAnswer(question);
+            if (seed != null) {
+                String[] options = { question.getOptionA(), question.getOptionB(), question.getOptionC(), question.getOptionD() };
+                int[] order = AttemptShuffle.optionOrder(seed, question.getId());
+                dto.setOptionA(options[order[0] - 1]);
+                dto.setOptionB(options[order[1] - 1]);
+                dto.setOptionC(options[order[2] - 1]);
+                dto.setOptionD(options[order[3] - 1]);
+                dto.setOptionOrder(List.of(order[0], order[1], order[2], order[3]));
+            }
+            questionDTOs.add(dto);
+        }
+        if (seed != null) {
+            questionDTOs.sort(Comparator.comparingLong(question -> AttemptShuffle.questionSortKey(seed, question.getId())));
+        }
+        return questionDTOs;
     }
 
     // Get all attempts for an assignment
+    // (two queries in total: attempts with their assignment, then every answer of the assignment)
     public List<AttemptDTO> getAttemptsByAssignment(Long assignmentId) {
+        Map<Long, List<AnswerDTO>> answersByAttempt = answerRepository.findViewsByAssignmentId(assignmentId).stream()
+                .collect(Collectors.groupingBy(AnswerView::getAttemptId,
+                        Collectors.mapping(this::convertAnswerToDTO, Collectors.toList())));
+
         return attemptRepository.findByAssignmentId(assignmentId).stream()
-                .map(this::convertToDTO)
+                .map(attempt -> convertToDTO(attempt, attempt.getAnswerVector() != null
+                        ? convertVectorToDTOs(attempt)
+                        : answersByAttempt.getOrDefault(attempt.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
-    // Submit or update an answer
-    @Transactional
+    // Get one page of attempts for an assignment ordered by ID (keyset pagination)
+    public CursorPageDTO<AttemptDTO> getAttemptsPageByAssignment(Long assignmentId, Long cursor, Integer limit) {
+        int pageSize = CursorPageDTO.clampLimit(limit);
+        List<Attempt> attempts = attemptRepository.findByAssignmentIdAndIdGreaterThanOrderByIdAsc(
+                assignmentId, cursor == null ? 0L : cursor, Limit.of(pageSize));
+        if (attempts.isEmpty()) {
+            return CursorPageDTO.of(List.of(), pageSize, AttemptDTO::getId);
+        }
+
+        List<Long> attemptIds = attempts.stream().map(Attempt::getId).collect(Collectors.toList());
+        Map<Long, List<AnswerDTO>> answersByAttempt = answerRepository.findViewsByAttemptIdIn(attemptIds).stream()
+                .collect(Collectors.groupingBy(AnswerView::getAttemptId,
+                        Collectors.mapping(this::convertAnswerToDTO, Collectors.toList())));
+
+        List<AttemptDTO> attemptDTOs = attempts.stream()
+                .map(attempt -> convertToDTO(attempt, attempt.getAnswerVector() != null
+                        ? convertVectorToDTOs(attempt)
+                        : answersByAttempt.getOrDefault(attempt.getId(), List.of())))
+                .collect(Collectors.toList());
+        return CursorPageDTO.of(attemptDTOs, pageSize, AttemptDTO::getId);
+    }
+
+    // Stream all attempts for an assignment. Attempts and answers are read from two cursors that
+    // are both ordered by attempt ID and merged, so memory stays constant whatever the result size.
+    @Transactional(readOnly = true)
+    public void streamAttemptsByAssignment(Long assignmentId, Consumer<AttemptDTO> consumer) {
+        try (Stream<Attempt> attempts = attemptRepository.streamByAssignmentId(assignmentId);
+             Stream<AnswerView> answers = answerRepository.streamViewsByAssignmentId(assignmentId)) {
+            Iterator<AnswerView> answerIterator = answers.iterator();
+            AnswerView next = answerIterator.hasNext() ? answerIterator.next() : null;
+
+            for (Iterator<Attempt> attemptIterator = attempts.iterator(); attemptIterator.hasNext(); ) {
+                Attempt attempt = attemptIterator.next();
+                List<AnswerDTO> answerDTOs = new ArrayList<>();
+                while (next != null && next.getAttemptId() <= attempt.getId()) {
+                    if (next.getAttemptId().equals(attempt.getId())) {
+                        answerDTOs.add(convertAnswerToDTO(next));
+                    }
+                    next = answerIterator.hasNext() ? answerIterator.next() : null;
+                }
+                if (attempt.getAnswerVector() != null) {
+                    answerDTOs = convertVectorToDTOs(attempt);
+                }
+                consumer.accept(convertToDTO(attempt, answerDTOs));
+                entityManager.detach(attempt);
+            }
+        }
+    }
+
+    // Submit or update an answer (buffered in memory when write-behind mode is enabled)
     public AnswerDTO submitAnswer(Long attemptId, SubmitAnswerDTO submitDTO) {
+        if (answerWriteBuffer.isEnabled()) {
+            return submitAnswerBuffered(attemptId, submitDTO);
+        }
+        AnswerDTO answer = transactionTemplate.execute(status -> submitAnswerDirect(attemptId, submitDTO));
+        if (answer == null) {
+            // Thrown after the auto-submit has committed, so the error does not roll it back
+            throw new RuntimeException("Time has expired. Assignment has been auto-submitted.");
+        }
+        return answer;
+    }
+
+    // Write-behind path: no transaction or query once the attempt state is loaded
+    private AnswerDTO submitAnswerBuffered(Long attemptId, SubmitAnswerDTO submitDTO) {
+        BufferedAttempt attempt = answerWriteBuffer.getAttempt(attemptId);
+
+        if (attempt.isClosed()) {
+            throw new RuntimeException("Cannot submit answer. Attempt is already completed.");
+        }
+
+        if (attempt.isExpired(LocalDateTime.now())) {
+            // Auto-submit if time expired
+            transactionTemplate.executeWithoutResult(status -> submitAttempt(attemptId, true));
+            throw new RuntimeException("Time has expired. Assignment has been auto-submitted.");
+        }
+
+        return answerWriteBuffer.write(attempt, submitDTO);
+    }
+
+    // Direct path: read, check and save the answer row in the caller's transaction.
+    // Returns null when the attempt had expired and was auto-submitted instead.
+    private AnswerDTO submitAnswerDirect(Long attemptId, SubmitAnswerDTO submitDTO) {
         // Verify attempt exists and is in progress
         Attempt attempt = attemptRepository.findById(attemptId)
                 .orElseThrow(() -> new RuntimeException("Attempt not found with id: " + attemptId));
 
+        if (attempt.getAnswerVector() != null) {
+            // The whole vector is rewritten, so answers to one attempt are serialized on its row:
+            // read it again under the lock to see answers committed since the first read
+            entityManager.detach(attempt);
+            attempt = attemptRepository.findLockedById(attemptId)
+                    .orElseThrow(() -> new RuntimeException("Attempt not found with id: " + attemptId));
+        }
+
         if (!"IN_PROGRESS".equals(attempt.getStatus())) {
             throw new RuntimeException("Cannot submit answer. Attempt is already completed.");
         }
@@ -103,7 +348,11 @@ public class AttemptService {
         if (elapsedMinutes > attempt.getAssignment().getDuration()) {
             // Auto-submit if time expired
             submitAttempt(attemptId, true);
-            throw new RuntimeException("Time has expired. Assignment has been auto-submitted.");
+            return null;
+        }
+
+        if (attempt.getAnswerVector() != null) {
+            return submitVectorAnswer(attempt, submitDTO);
         }
 
         // Find or create answer
@@ -117,29 +366,150 @@ public class AttemptService {
         return convertAnswerToDTO(savedAnswer);
     }
 
+    // Update one entry of the answer vector of a locked attempt
+    private AnswerDTO submitVectorAnswer(Attempt attempt, SubmitAnswerDTO submitDTO) {
+        AnswerVector vector = AnswerVector.of(attempt);
+        int index = vector.indexOf(submitDTO.getQuestionId());
+        if (index < 0) {
+            throw new RuntimeException("Answer record not found");
+        }
+        Integer selectedAnswer = submitDTO.getSelectedAnswer();
+        if (selectedAnswer != null && (selectedAnswer < 1 || selectedAnswer > AnswerVector.MAX_OPTION)) {
+            throw new RuntimeException("Selected answer must be between 1 and " + AnswerVector.MAX_OPTION);
+        }
+
+        vector.set(index, selectedAnswer, Boolean.TRUE.equals(submitDTO.getMarkedForReview()));
+        vector.writeTo(attempt);
+        AnswerKey answerKey = assignmentSnapshotCache.get(attempt.getAssignment().getId()).getAnswerKey();
+        return convertVectorAnswerToDTO(vector, index, answerKey, false);
+    }
+
     // Submit the entire attempt
     @Transactional
     public AttemptDTO submitAttempt(Long attemptId, boolean isAutoSubmit) {
+        return submitAttempt(attemptId, isAutoSubmit, null);
+    }
+
+    // Submit the entire attempt exactly once. Concurrent submits (double clicks, an auto-submit from
+    // submitAnswer or the sweeper) race on a conditional UPDATE and only the winner scores; a retry
+    // carrying the idempotency key of the submit that won gets the stored result instead of an error
+    @Transactional
+    public AttemptDTO submitAttempt(Long attemptId, boolean isAutoSubmit, String idempotencyKey) {
         Attempt attempt = attemptRepository.findById(attemptId)
                 .orElseThrow(() -> new RuntimeException("Attempt not found with id: " + attemptId));
 
         if (!"IN_PROGRESS".equals(attempt.getStatus())) {
-            throw new RuntimeException("Attempt is already submitted.");
+            return submittedResult(attempt, idempotencyKey);
+        }
+
+        // Column precision, so the first response and later idempotent replays carry the same timestamp
+        LocalDateTime submittedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        String status = isAutoSubmit ? "AUTO_SUBMITTED" : "SUBMITTED";
+        if (attemptRepository.claimForSubmit(attemptId, status, submittedAt, idempotencyKey) == 0) {
+            // Another submit committed after our read; its result is visible now
+            Attempt submitted = attemptRepository.findById(attemptId)
+                    .orElseThrow(() -> new RuntimeException("Attempt not found with id: " + attemptId));
+            return submittedResult(submitted, idempotencyKey);
         }
 
-        attempt.setSubmittedAt(LocalDateTime.now());
-        attempt.setStatus(isAutoSubmit ? "AUTO_SUBMITTED" : "SUBMITTED");
+        // Buffered answers must be in the table before scoring
+        answerWriteBuffer.closeAndFlush(attemptId);
+
+        int score;
+        if (attempt.getAnswerVector() != null) {
+            // Reread after the claim: answers committed since the first read are in the row now
+            attempt = attemptRepository.findById(attemptId)
+                    .orElseThrow(() -> new RuntimeException("Attempt not found with id: " + attemptId));
+            score = calculateVectorScore(attempt);
+        } else {
+            // Calculate score (clears the persistence context, so the attempt is merged back below)
+            score = calculateScore(attemptId, attempt.getAssignment().getId());
+        }
 
-        // Calculate score
-        int score = calculateScore(attemptId);
+        attempt.setSubmittedAt(submittedAt);
+        attempt.setStatus(status);
+        attempt.setSubmitKey(idempotencyKey);
         attempt.setScore(score);
 
         Attempt savedAttempt = attemptRepository.save(attempt);
-        return convertToDTO(savedAttempt);
+        attemptDeadlineQueue.untrack(attemptId);
+        attemptEventBroadcaster.submitted(attemptId, savedAttempt.getStatus(), savedAttempt.getScore());
+        AttemptDTO submitted = convertToDTO(savedAttempt);
+        assignmentStatsBuffer.record(submitted);
+        return submitted;
+    }
+
+    // Result of an attempt that is already submitted, for a retry of the submit that won
+    private AttemptDTO submittedResult(Attempt attempt, String idempotencyKey) {
+        if (idempotencyKey == null || !idempotencyKey.equals(attempt.getSubmitKey())) {
+            throw new RuntimeException("Attempt is already submitted.");
+        }
+        return convertToDTO(attempt);
+    }
+
+    // Calculate score for an attempt against the cached answer key: one query reads the selections,
+    // one UPDATE writes the correctness flags, and no Question entity is loaded
+    private int calculateScore(Long attemptId, Long assignmentId) {
+        AnswerKey answerKey = assignmentSnapshotCache.get(assignmentId).getAnswerKey();
+        List<Long> correctQuestionIds = new ArrayList<>();
+        int score = 0;
+
+        for (AnswerSelection selection : answerRepository.findSelectionsByAttemptId(attemptId)) {
+            int index = answerKey.indexOf(selection.getQuestionId());
+            if (index < 0) {
+                // The question was removed from the assignment after the attempt started
+                return calculateScoreInDatabase(attemptId);
+            }
+            if (answerKey.isCorrect(index, selection.getSelectedAnswer())) {
+                correctQuestionIds.add(selection.getQuestionId());
+                score += answerKey.pointsAt(index);
+            }
+        }
+
+        answerRepository.markCorrectAnswers(attemptId, correctQuestionIds);
+        return score;
+    }
+
+    // Grade an answer vector in memory against the cached answer key; the correctness bits are
+    // stored with the attempt, so grading writes nothing but the attempt row
+    private int calculateVectorScore(Attempt attempt) {
+        AnswerKey answerKey = assignmentSnapshotCache.get(attempt.getAssignment().getId()).getAnswerKey();
+        AnswerVector vector = AnswerVector.of(attempt);
+        int score = 0;
+
+        for (int i = 0; i < vector.size(); i++) {
+            Integer selectedAnswer = vector.selectedAnswer(i);
+            int index = answerKey.indexOf(vector.questionId(i));
+            boolean correct;
+            int points;
+            if (index >= 0) {
+                correct = answerKey.isCorrect(index, selectedAnswer);
+                points = answerKey.pointsAt(index);
+            } else {
+                // The question was removed from the assignment after the attempt started
+                Question question = questionRepository.findById(vector.questionId(i)).orElse(null);
+                correct = question != null && selectedAnswer != null && selectedAnswer.equals(question.getCorrectOption());
+                points = question == null ? 0 : question.getPoints();
+            }
+            vector.setCorrect(i, correct);
+            if (correct) {
+                score += points;
+            }
+        }
+
+        vector.writeTo(attempt);
+        return score;
     }
 
-    // Calculate score for an attempt
-    private int calculateScore(Long attemptId) {
+    // Calculate score in the database: one UPDATE grades all answers, one aggregate sums the points
+    private int calculateScoreInDatabase(Long attemptId) {
+        answerRepository.gradeAnswersByAttemptId(attemptId);
+        return answerRepository.sumCorrectPointsByAttemptId(attemptId);
+    }
+
+    // Per-entity reference implementation of calculateScore, kept for equivalence testing
+    @Transactional
+    int calculateScoreByEntity(Long attemptId) {
         List<Answer> answers = answerRepository.findByAttemptId(attemptId);
         int score = 0;
 
@@ -164,17 +534,52 @@ public class AttemptService {
 
     // Get answers for an attempt
     public List<AnswerDTO> getAnswersByAttempt(Long attemptId) {
-        return answerRepository.findByAttemptId(attemptId).stream()
+        answerWriteBuffer.flush(attemptId);
+        List<AnswerView> rows = answerRepository.findViewsByAttemptId(attemptId);
+        if (!rows.isEmpty()) {
+            return presentAnswers(rows.get(0).getShuffleSeed(), rows.stream()
+                    .map(this::convertAnswerToDTO)
+                    .collect(Collectors.toList()));
+        }
+        // Attempts with an answer vector have no answer rows
+        return attemptRepository.findById(attemptId)
+                .filter(attempt -> attempt.getAnswerVector() != null)
+                .map(attempt -> presentAnswers(attempt.getShuffleSeed(), convertVectorToDTOs(attempt)))
+                .orElse(new ArrayList<>());
+    }
+
+    private List<AnswerDTO> getAnswerRowsByAttempt(Long attemptId) {
+        answerWriteBuffer.flush(attemptId);
+        return answerRepository.findViewsByAttemptId(attemptId).stream()
                 .map(this::convertAnswerToDTO)
                 .collect(Collectors.toList());
     }
 
+    // Seconds left of an attempt started at startedAt with the given duration in minutes
+    private int remainingSeconds(LocalDateTime startedAt, int duration) {
+        long elapsedSeconds = Duration.between(startedAt, LocalDateTime.now()).getSeconds();
+        long totalSeconds = duration * 60L;
+        return (int) Math.max(0, totalSeconds - elapsedSeconds);
+    }
+
     // Convert Attempt Entity to DTO
     private AttemptDTO convertToDTO(Attempt attempt) {
+        return convertToDTO(attempt, attempt.getAnswerVector() != null
+                ? convertVectorToDTOs(attempt)
+                : getAnswerRowsByAttempt(attempt.getId()));
+    }
+
+    // Convert Attempt Entity to DTO with already loaded answers
+    private AttemptDTO convertToDTO(Attempt attempt, List<AnswerDTO> answerDTOs) {
+        return convertToDTO(attempt, attempt.getAssignment().getName(), attempt.getAssignment().getDuration(), answerDTOs);
+    }
+
+    // Convert Attempt Entity to DTO with the assignment fields supplied by the caller
+    private AttemptDTO convertToDTO(Attempt attempt, String assignmentName, int duration, List<AnswerDTO> answerDTOs) {
         AttemptDTO dto = new AttemptDTO();
         dto.setId(attempt.getId());
         dto.setAssignmentId(attempt.getAssignment().getId());
-        dto.setAssignmentName(attempt.getAssignment().getName());
+        dto.setAssignmentName(assignmentName);
         dto.setStartedAt(attempt.getStartedAt());
         dto.setSubmittedAt(attempt.getSubmittedAt());
         dto.setStatus(attempt.getStatus());
@@ -183,18 +588,11 @@ public class AttemptService {
 
         // Calculate remaining time in seconds
         if ("IN_PROGRESS".equals(attempt.getStatus())) {
-            LocalDateTime now = LocalDateTime.now();
-            long elapsedSeconds = Duration.between(attempt.getStartedAt(), now).getSeconds();
-            long totalSeconds = attempt.getAssignment().getDuration() * 60L;
-            long remainingSeconds = Math.max(0, totalSeconds - elapsedSeconds);
-            dto.setRemainingTimeSeconds((int) remainingSeconds);
+            dto.setRemainingTimeSeconds(remainingSeconds(attempt.getStartedAt(), duration));
         }
 
         // Include answers
-        List<AnswerDTO> answerDTOs = answerRepository.findByAttemptId(attempt.getId()).stream()
-                .map(this::convertAnswerToDTO)
-                .collect(Collectors.toList());
-        dto.setAnswers(answerDTOs);
+        dto.setAnswers(answerDTOs == null ? null : presentAnswers(attempt.getShuffleSeed(), answerDTOs));
 
         return dto;
     }
@@ -210,4 +608,58 @@ public class AttemptService {
         dto.setCorrectOption(answer.getQuestion().getCorrectOption()); // Include correct answer
         return dto;
     }
-}
\ No newline at end of file
+
+    // Convert Answer projection to DTO
+    private AnswerDTO convertAnswerToDTO(AnswerView answer) {
+        AnswerDTO dto = new AnswerDTO();
+        dto.setId(answer.getId());
+        dto.setQuestionId(answer.getQuestionId());
+        dto.setSelectedAnswer(answer.getSelectedAnswer());
+        dto.setMarkedForReview(answer.getMarkedForReview());
+        dto.setIsCorrect(answer.getIsCorrect());
+        dto.setCorrectOption(answer.getCorrectOption());
+        return dto;
+    }
+
+    // Convert an answer vector to DTOs; answer IDs are null as there are no answer rows
+    private List<AnswerDTO> convertVectorToDTOs(Attempt attempt) {
+        AnswerVector vector = AnswerVector.of(attempt);
+        AnswerKey answerKey = assignmentSnapshotCache.get(attempt.getAssignment().getId()).getAnswerKey();
+        boolean graded = !"IN_PROGRESS".equals(attempt.getStatus());
+        List<AnswerDTO> answerDTOs = new ArrayList<>(vector.size());
+        for (int i = 0; i < vector.size(); i++) {
+            answerDTOs.add(convertVectorAnswerToDTO(vector, i, answerKey, graded));
+        }
+        return answerDTOs;
+    }
+
+    // Convert one answer vector entry to DTO; isCorrect stays null until the attempt is graded, as with rows
+    private AnswerDTO convertVectorAnswerToDTO(AnswerVector vector, int index, AnswerKey answerKey, boolean graded) {
+        long questionId = vector.questionId(index);
+        AnswerDTO dto = new AnswerDTO();
+        dto.setQuestionId(questionId);
+        dto.setSelectedAnswer(vector.selectedAnswer(index));
+        dto.setMarkedForReview(vector.isMarkedForReview(index));
+        dto.setIsCorrect(graded ? vector.isCorrect(index) : null);
+
+        int keyIndex = answerKey.indexOf(questionId);
+        if (keyIndex >= 0) {
+            dto.setCorrectOption(answerKey.correctOptionAt(keyIndex));
+        } else {
+            // The question was removed from the assignment after the attempt started
+            questionRepository.findById(questionId).ifPresent(question -> dto.setCorrectOption(question.getCorrectOption()));
+        }
+        return dto;
+    }
+
+    // Answers in the attempt's question order; unchanged for attempts that are not shuffled.
+    // Selections and correct options keep the questions' own option numbers either way.
+    private List<AnswerDTO> presentAnswers(Long shuffleSeed, List<AnswerDTO> answerDTOs) {
+        if (shuffleSeed == null) {
+            return answerDTOs;
+        }
+        List<AnswerDTO> presented = new ArrayList<>(answerDTOs);
+        presented.sort(Comparator.comparingLong(answer -> AttemptShuffle.questionSortKey(shuffleSeed, answer.getQuestionId())));
+        return presented;
+    }
+}
@@ -0,0 +1,46 @@
+package com.onlinequiz.online_quiz.service;
+
+// Per-attempt question order and option order (quiz.attempts.shuffle.enabled), derived from
+// Attempt.shuffleSeed and the question ID, so nothing is stored per question and no lookup is needed.
+// Only the display is reordered: options keep the question's own numbers, which are what students
+// submit and what is stored and graded. A null seed means no shuffling.
+final class AttemptShuffle {
+
+    // All 24 orders of options 1-4; ORDERS[k][shown - 1] is the question's own option shown at that position
+    private static final int[][] ORDERS = new int[24][];
+
+    static {
+        int k = 0;
+        for (int a = 1; a <= 4; a++) {
+            for (int b = 1; b <= 4; b++) {
+                for (int c = 1; c <= 4; c++) {
+                    int d = 10 - a - b - c;
+                    if (a != b && a != c && b != c && d != a && d != b && d != c) {
+                        ORDERS[k++] = new int[] { a, b, c, d };
+                    }
+                }
+            }
+        }
+    }
+
+    private AttemptShuffle() {
+    }
+
+    // Questions are shown in ascending order of this key; it depends only on the seed and the question,
+    // so the order of the other questions is kept when a question is added to or removed from the assignment
+    static long questionSortKey(long seed, long questionId) {
+        return mix(seed + questionId * 0x9E3779B97F4A7C15L);
+    }
+
+    // The question's own option shown at each position 1-4
+    static int[] optionOrder(long seed, long questionId) {
+        return ORDERS[(int) Long.remainderUnsigned(mix(seed ^ mix(questionId)), ORDERS.length)];
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,83 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.entity.Attempt;
+import com.onlinequiz.online_quiz.repository.projection.AnswerView;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory state of one attempt while its answers are buffered by AnswerWriteBuffer
+public class BufferedAttempt {
+
+    // Answer row identity, fixed for the lifetime of the attempt
+    static final class AnswerSlot {
+        final Long answerId;
+        final Integer correctOption;
+
+        AnswerSlot(Long answerId, Integer correctOption) {
+            this.answerId = answerId;
+            this.correctOption = correctOption;
+        }
+    }
+
+    // Latest acknowledged, not yet flushed change of one answer
+    static final class PendingAnswer {
+        final Integer selectedAnswer;
+        final boolean markedForReview;
+        final LocalDateTime updatedAt;
+
+        PendingAnswer(Integer selectedAnswer, boolean markedForReview, LocalDateTime updatedAt) {
+            this.selectedAnswer = selectedAnswer;
+            this.markedForReview = markedForReview;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    private final Long attemptId;
+    private final LocalDateTime startedAt;
+    private final int duration;
+    private final Map<Long, AnswerSlot> slots = new HashMap<>();
+    final Map<Long, PendingAnswer> pending = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+    private LocalDateTime lastWriteAt = LocalDateTime.MIN;
+
+    BufferedAttempt(Attempt attempt, List<AnswerView> answers) {
+        this.attemptId = attempt.getId();
+        this.startedAt = attempt.getStartedAt();
+        this.duration = attempt.getAssignment().getDuration();
+        this.closed = !"IN_PROGRESS".equals(attempt.getStatus());
+        for (AnswerView answer : answers) {
+            slots.put(answer.getQuestionId(), new AnswerSlot(answer.getId(), answer.getCorrectOption()));
+        }
+    }
+
+    public Long getAttemptId() { return attemptId; }
+
+    public boolean isClosed() { return closed; }
+
+    void setClosed(boolean closed) { this.closed = closed; }
+
+    // Same rule as the database path: whole minutes elapsed beyond the duration
+    public boolean isExpired(LocalDateTime now) {
+        return Duration.between(startedAt, now).toMinutes() > duration;
+    }
+
+    // Strictly increasing write times, so the flush UPDATE can tell an older change from a newer one;
+    // called while holding the attempt's monitor
+    LocalDateTime nextWriteTime(LocalDateTime now) {
+        lastWriteAt = now.isAfter(lastWriteAt) ? now : lastWriteAt.plusNanos(1000);
+        return lastWriteAt;
+    }
+
+    AnswerSlot slot(Long questionId) {
+        return slots.get(questionId);
+    }
+
+    boolean hasPending() {
+        return !pending.isEmpty();
+    }
+}
@@ -0,0 +1,210 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.onlinequiz.online_quiz.dto.CreateQuestionDTO;
+import com.onlinequiz.online_quiz.dto.QuestionImportErrorDTO;
+import com.onlinequiz.online_quiz.dto.QuestionImportResultDTO;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Bulk question import from NDJSON or CSV (with a header row).
+// Rows are parsed one at a time from the request stream, validated with the CreateQuestionDTO constraints
+// and inserted in JDBC batches; each batch commits on its own, so memory stays bounded by the batch size.
+// Invalid rows are skipped and reported by row number (1 = first record, not counting the CSV header).
+// NDJSON records are independent lines, so a malformed line is reported like an invalid row. Malformed CSV
+// stops the import at that row, keeping the rows committed before it: a quoted field may span lines, so
+// there is no safe point to resume from.
+@Observed(name = "quiz.service")
+@Service
+public class QuestionImporter {
+
+    private static final String INSERT_SQL = "INSERT INTO questions (text, option_a, option_b, option_c, option_d, "
+            + "correct_option, difficulty, points, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_TYPES = { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.INTEGER, Types.VARCHAR, Types.INTEGER, Types.TIMESTAMP, Types.TIMESTAMP };
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${quiz.questions.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${quiz.questions.import.max-errors:100}")
+    private int maxErrors;
+
+    // Each line is parsed on its own; blank lines are skipped and not counted as rows
+    public QuestionImportResultDTO importNdjson(InputStream in) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(CreateQuestionDTO.class).with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return importRows(() -> {
+                String line = lines.readLine();
+                while (line != null && line.isBlank()) {
+                    line = lines.readLine();
+                }
+                return line == null ? null : reader.readValue(line);
+            }, false);
+        }
+    }
+
+    public QuestionImportResultDTO importCsv(InputStream in) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<CreateQuestionDTO> rows = CSV_MAPPER.readerFor(CreateQuestionDTO.class).with(schema).readValues(in)) {
+            return importRows(() -> rows.hasNextValue() ? rows.nextValue() : null, true);
+        }
+    }
+
+    // Source of parsed rows; returns null at the end of the input
+    private interface RowReader {
+        CreateQuestionDTO next() throws IOException;
+    }
+
+    private QuestionImportResultDTO importRows(RowReader rows, boolean stopOnMalformed) {
+        QuestionImportResultDTO result = new QuestionImportResultDTO();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        int row = 0;
+        while (true) {
+            row++;
+            CreateQuestionDTO question;
+            try {
+                question = rows.next();
+                if (question == null) {
+                    break;
+                }
+            } catch (JsonProcessingException e) {
+                StreamReadException malformed = malformedCause(e);
+                if (malformed == null) {
+                    reject(result, row, invalidValue((JsonMappingException) e)); // rest of the row is skipped, parsing goes on
+                } else if (stopOnMalformed) {
+                    reject(result, row, "Malformed input, import stopped: " + malformed.getOriginalMessage());
+                    break;
+                } else {
+                    reject(result, row, "Malformed input: " + malformed.getOriginalMessage());
+                }
+                continue;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            String violations = validate(question);
+            if (violations != null) {
+                reject(result, row, violations);
+                continue;
+            }
+            batch.add(new ImportRow(row, question, Timestamp.valueOf(LocalDateTime.now())));
+            if (batch.size() >= batchSize) {
+                insert(batch, result);
+                batch.clear();
+            }
+        }
+        insert(batch, result);
+        return result;
+    }
+
+    private String validate(CreateQuestionDTO question) {
+        List<String> messages = validator.validate(question).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+        return messages.isEmpty() ? null : String.join("; ", messages);
+    }
+
+    // One batch per transaction; if the database rejects the batch, retry row by row to find the bad rows
+    private void insert(List<ImportRow> batch, QuestionImportResultDTO result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+                    batch.stream().map(row -> row.values).collect(Collectors.toList()), INSERT_TYPES));
+            result.setImported(result.getImported() + batch.size());
+        } catch (DataAccessException batchFailure) {
+            for (ImportRow row : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, row.values, INSERT_TYPES));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException e) {
+                    reject(result, row.row, "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void reject(QuestionImportResultDTO result, int row, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new QuestionImportErrorDTO(row, message));
+        }
+    }
+
+    // Syntax errors cannot be resynchronized within one stream, unlike values of the wrong type
+    private static StreamReadException malformedCause(JsonProcessingException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof StreamReadException streamReadException) {
+                return streamReadException;
+            }
+        }
+        return null;
+    }
+
+    private static String invalidValue(JsonMappingException e) {
+        String field = e.getPath().stream()
+                .map(JsonMappingException.Reference::getFieldName)
+                .filter(name -> name != null)
+                .collect(Collectors.joining("."));
+        return field.isEmpty() ? "Invalid row: " + e.getOriginalMessage() : "Invalid value for " + field;
+    }
+
+    // A validated row waiting for its batch insert
+    private static final class ImportRow {
+        final int row;
+        final Object[] values;
+
+        ImportRow(int row, CreateQuestionDTO question, Timestamp now) {
+            this.row = row;
+            this.values = new Object[] {
+                    question.getText(), question.getOptionA(), question.getOptionB(), question.getOptionC(),
+                    question.getOptionD(), question.getCorrectOption(), question.getDifficulty(), question.getPoints(),
+                    now, now };
+        }
+    }
+}
@@ -1,21 +1,40 @@
 package com.onlinequiz.online_quiz.service;
 
+import com.onlinequiz.online_quiz.cache.AssignmentSnapshotCache;
+import com.onlinequiz.online_quiz.cache.QuestionSnapshot;
+import com.onlinequiz.online_quiz.cache.VersionTags;
 import com.onlinequiz.online_quiz.dto.CreateQuestionDTO;
+import com.onlinequiz.online_quiz.dto.CursorPageDTO;
 import com.onlinequiz.online_quiz.dto.QuestionDTO;
 import com.onlinequiz.online_quiz.entity.Question;
 import com.onlinequiz.online_quiz.repository.QuestionRepository;
+import com.onlinequiz.online_quiz.repository.projection.QuestionTableVersion;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Observed(name = "quiz.service")
 @Service
 public class QuestionService {
     
     @Autowired
     private QuestionRepository questionRepository;
+
+    @Autowired
+    private AssignmentSnapshotCache assignmentSnapshotCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
     
     // Get all questions
     public List<QuestionDTO> getAllQuestions() {
@@ -24,6 +43,41 @@ public class QuestionService {
                 .collect(Collectors.toList());
     }
     
+    // Get one page of questions ordered by ID (keyset pagination)
+    public CursorPageDTO<QuestionDTO> getQuestionsPage(Long cursor, Integer limit) {
+        int pageSize = CursorPageDTO.clampLimit(limit);
+        List<QuestionDTO> questions = questionRepository
+                .findByIdGreaterThanOrderByIdAsc(cursor == null ? 0L : cursor, Limit.of(pageSize)).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return CursorPageDTO.of(questions, pageSize, QuestionDTO::getId);
+    }
+
+    // Stream all questions ordered by ID, detaching each row once it has been handed off
+    @Transactional(readOnly = true)
+    public void streamQuestions(Consumer<QuestionDTO> consumer) {
+        try (Stream<Question> questions = questionRepository.streamAllByOrderByIdAsc()) {
+            questions.forEach(question -> {
+                consumer.accept(convertToDTO(question));
+                entityManager.detach(question);
+            });
+        }
+    }
+    
+    // ETag of the full question list; changes whenever a question is created, updated or deleted
+    public String getQuestionsETag() {
+        QuestionTableVersion version = questionRepository.findTableVersion();
+        return "\"qs-" + VersionTags.hash(version.getCount(), version.getMaxId() == null ? 0L : version.getMaxId(),
+                VersionTags.micros(version.getLastUpdatedAt())) + "\"";
+    }
+
+    // ETag of one question, read without loading the entity
+    public String getQuestionETag(Long id) {
+        LocalDateTime updatedAt = questionRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Question not found with id: " + id));
+        return "\"q" + id + "-" + Long.toHexString(VersionTags.micros(updatedAt)) + "\"";
+    }
+
     // Get question by ID
     public QuestionDTO getQuestionById(Long id) {
         Question question = questionRepository.findById(id)
@@ -71,6 +125,7 @@ public class QuestionService {
         question.setPoints(updateDTO.getPoints());
         
         Question updatedQuestion = questionRepository.save(question);
+        assignmentSnapshotCache.invalidateByQuestion(id);
         return convertToDTO(updatedQuestion);
     }
     
@@ -81,6 +136,7 @@ public class QuestionService {
             throw new RuntimeException("Question not found with id: " + id);
         }
         questionRepository.deleteById(id);
+        assignmentSnapshotCache.invalidateByQuestion(id);
     }
     
     // Convert Entity to DTO
@@ -100,6 +156,11 @@ public class QuestionService {
     
     // Convert Entity to DTO without correct answer (for student view during attempt)
     public QuestionDTO convertToDTOWithoutAnswer(Question question) {
+        return convertToDTOWithoutAnswer(QuestionSnapshot.of(question));
+    }
+    
+    // Convert cached snapshot to DTO without correct answer
+    public QuestionDTO convertToDTOWithoutAnswer(QuestionSnapshot question) {
         QuestionDTO dto = new QuestionDTO();
         dto.setId(question.getId());
         dto.setText(question.getText());
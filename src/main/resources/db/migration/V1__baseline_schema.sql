@@ -0,0 +1,63 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version and skip it (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE questions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    text TEXT NOT NULL,
+    option_a VARCHAR(255) NOT NULL,
+    option_b VARCHAR(255) NOT NULL,
+    option_c VARCHAR(255) NOT NULL,
+    option_d VARCHAR(255) NOT NULL,
+    correct_option INTEGER NOT NULL,
+    difficulty VARCHAR(50) NOT NULL,
+    points INTEGER NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE assignments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    start_time TIMESTAMP(6) NOT NULL,
+    end_time TIMESTAMP(6) NOT NULL,
+    duration INTEGER NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE assignment_questions (
+    assignment_id BIGINT NOT NULL,
+    question_id BIGINT NOT NULL,
+    PRIMARY KEY (assignment_id, question_id),
+    CONSTRAINT fk_assignment_questions_assignment FOREIGN KEY (assignment_id) REFERENCES assignments (id),
+    CONSTRAINT fk_assignment_questions_question FOREIGN KEY (question_id) REFERENCES questions (id)
+);
+
+CREATE TABLE attempts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    assignment_id BIGINT NOT NULL,
+    started_at TIMESTAMP(6) NOT NULL,
+    submitted_at TIMESTAMP(6),
+    status VARCHAR(50) NOT NULL,
+    score INTEGER,
+    total_points INTEGER,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT fk_attempts_assignment FOREIGN KEY (assignment_id) REFERENCES assignments (id)
+);
+
+CREATE SEQUENCE answers_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE answers (
+    id BIGINT PRIMARY KEY,
+    attempt_id BIGINT NOT NULL,
+    question_id BIGINT NOT NULL,
+    selected_answer INTEGER,
+    marked_for_review BOOLEAN NOT NULL,
+    is_correct BOOLEAN,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT fk_answers_attempt FOREIGN KEY (attempt_id) REFERENCES attempts (id),
+    CONSTRAINT fk_answers_question FOREIGN KEY (question_id) REFERENCES questions (id)
+);
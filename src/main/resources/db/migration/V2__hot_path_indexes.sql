@@ -0,0 +1,17 @@
+-- Indexes for the hot lookup paths
+
+-- One answer row per question of an attempt: submitAnswer lookups, and every per-attempt answer read
+-- through the leading attempt_id column
+CREATE UNIQUE INDEX IF NOT EXISTS ux_answers_attempt_question ON answers (attempt_id, question_id);
+
+-- Attempts of an assignment, including the keyset pages ordered by id
+CREATE INDEX IF NOT EXISTS ix_attempts_assignment ON attempts (assignment_id, id);
+
+-- In-progress attempts loaded by the expiry sweeper at startup
+CREATE INDEX IF NOT EXISTS ix_attempts_status ON attempts (status);
+
+-- Availability window of assignments
+CREATE INDEX IF NOT EXISTS ix_assignments_window ON assignments (start_time, end_time);
+
+-- Databases created before answers moved to a pooled sequence do not have it yet
+CREATE SEQUENCE IF NOT EXISTS answers_seq START WITH 1 INCREMENT BY 50;
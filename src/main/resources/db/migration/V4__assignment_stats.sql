@@ -0,0 +1,30 @@
+-- Per-assignment analytics, kept up to date incrementally by AssignmentStatsBuffer and rebuilt from
+-- attempts and answers by AssignmentStatsService.recompute. Rows go away with their assignment.
+
+CREATE TABLE assignment_stats (
+    assignment_id BIGINT PRIMARY KEY,
+    submitted_count INTEGER NOT NULL DEFAULT 0,
+    auto_submitted_count INTEGER NOT NULL DEFAULT 0,
+    score_sum BIGINT NOT NULL DEFAULT 0,
+    completion_millis_sum BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT fk_assignment_stats_assignment FOREIGN KEY (assignment_id) REFERENCES assignments (id) ON DELETE CASCADE
+);
+
+-- Score histogram: bucket n counts attempts scoring n*10% up to (n+1)*10% of their total points, 100% in bucket 9
+CREATE TABLE assignment_score_buckets (
+    assignment_id BIGINT NOT NULL,
+    bucket INTEGER NOT NULL,
+    attempt_count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (assignment_id, bucket),
+    CONSTRAINT fk_assignment_score_buckets_assignment FOREIGN KEY (assignment_id) REFERENCES assignments (id) ON DELETE CASCADE
+);
+
+CREATE TABLE assignment_question_stats (
+    assignment_id BIGINT NOT NULL,
+    question_id BIGINT NOT NULL,
+    answered_count INTEGER NOT NULL DEFAULT 0,
+    correct_count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (assignment_id, question_id),
+    CONSTRAINT fk_assignment_question_stats_assignment FOREIGN KEY (assignment_id) REFERENCES assignments (id) ON DELETE CASCADE
+);
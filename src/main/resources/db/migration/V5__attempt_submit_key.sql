@@ -0,0 +1,2 @@
+-- Idempotency-Key of the request that submitted an attempt; retries with the same key get the stored result
+ALTER TABLE attempts ADD COLUMN submit_key VARCHAR(100);
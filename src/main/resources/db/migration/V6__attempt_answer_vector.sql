@@ -0,0 +1,4 @@
+-- Compact answer storage (quiz.answers.storage=vector): the question IDs of an attempt as packed
+-- 8-byte values and one state byte per question, instead of one answers row per question
+ALTER TABLE attempts ADD COLUMN answer_question_ids BYTEA;
+ALTER TABLE attempts ADD COLUMN answer_vector BYTEA;
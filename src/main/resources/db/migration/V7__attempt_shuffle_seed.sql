@@ -0,0 +1,2 @@
+-- Seed of the per-attempt question and option order (quiz.attempts.shuffle.enabled); null when not shuffled
+ALTER TABLE attempts ADD COLUMN shuffle_seed BIGINT;
@@ -0,0 +1,43 @@
+package com.onlinequiz.online_quiz;
+
+import com.onlinequiz.online_quiz.entity.Assignment;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Metrics export and tracing are off in tests unless requested
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestFixtures.class)
+class MetricsTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Test
+	void prometheusEndpointExposesServiceRepositoryPoolAndHibernateMetrics() {
+		Assignment assignment = fixtures.createOpenAssignment(5);
+		ResponseEntity<String> started = restTemplate.postForEntity("/api/attempts/start/" + assignment.getId(), null, String.class);
+		assertThat(started.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+		String scrape = restTemplate.getForObject("/actuator/prometheus", String.class);
+
+		assertThat(scrape)
+				.contains("quiz_service_seconds_count{class=\"com.onlinequiz.online_quiz.service.AttemptService\"")
+				.contains("method=\"startAttempt\"")
+				.contains("spring_data_repository_invocations_seconds_count")
+				.contains("hikaricp_connections_active")
+				.contains("hibernate_statements_total")
+				.contains("quiz_request_statements_count{method=\"POST\",uri=\"/api/attempts/start/{assignmentId}\"}");
+	}
+}
@@ -0,0 +1,65 @@
+package com.onlinequiz.online_quiz;
+
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Question;
+import com.onlinequiz.online_quiz.repository.AssignmentRepository;
+import com.onlinequiz.online_quiz.repository.QuestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+// Shared test data builders; add to a test with @Import(TestFixtures.class)
+@TestComponent
+public class TestFixtures {
+
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Autowired
+	private AssignmentRepository assignmentRepository;
+
+	// Questions cycle through correct options 1-4 and points 1-3
+	public List<Question> createQuestions(int count) {
+		List<Question> questions = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			questions.add(question(i % 4 + 1, i % 3 + 1));
+		}
+		return questionRepository.saveAll(questions);
+	}
+
+	public Question createQuestion(int correctOption, int points) {
+		return questionRepository.save(question(correctOption, points));
+	}
+
+	// Assignment whose window is open right now
+	public Assignment createOpenAssignment(int questionCount) {
+		return createOpenAssignment(createQuestions(questionCount));
+	}
+
+	public Assignment createOpenAssignment(List<Question> questions) {
+		Assignment assignment = new Assignment();
+		assignment.setName("Test assignment");
+		assignment.setStartTime(LocalDateTime.now().minusHours(1));
+		assignment.setEndTime(LocalDateTime.now().plusHours(1));
+		assignment.setDuration(60);
+		assignment.setQuestions(new HashSet<>(questions));
+		return assignmentRepository.save(assignment);
+	}
+
+	private Question question(int correctOption, int points) {
+		Question question = new Question();
+		question.setText("Question");
+		question.setOptionA("A");
+		question.setOptionB("B");
+		question.setOptionC("C");
+		question.setOptionD("D");
+		question.setCorrectOption(correctOption);
+		question.setDifficulty("EASY");
+		question.setPoints(points);
+		return question;
+	}
+}
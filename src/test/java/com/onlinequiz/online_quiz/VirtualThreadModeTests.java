@@ -0,0 +1,32 @@
+package com.onlinequiz.online_quiz;
+
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadModeTests {
+
+	@Autowired
+	private ServletWebServerApplicationContext context;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Test
+	void requestsAreServedOnVirtualThreads() {
+		TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+		assertThat(webServer.getTomcat().getConnector().getProtocolHandler().getExecutor())
+				.isInstanceOf(VirtualThreadExecutor.class);
+
+		assertThat(restTemplate.getForEntity("/api/questions", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+}
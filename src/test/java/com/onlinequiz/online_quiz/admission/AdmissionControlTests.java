@@ -0,0 +1,180 @@
+package com.onlinequiz.online_quiz.admission;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.repository.AttemptRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Starts: 2 per second per assignment, one at once, at most 1s of waiting for 2 queued requests.
+// Clients: 3 requests at once, then 1 per second, for starts too
+@SpringBootTest(properties = {
+		"quiz.admission.enabled=true",
+		"quiz.admission.start.rate=2",
+		"quiz.admission.start.burst=1",
+		"quiz.admission.start.per-client=true",
+		"quiz.admission.max-wait=1s",
+		"quiz.admission.queue-size=2",
+		"quiz.admission.client.rate=1",
+		"quiz.admission.client.burst=3"
+})
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class AdmissionControlTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdmissionControl admissionControl;
+
+	@Autowired
+	private AttemptRepository attemptRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void clientOverItsLimitGets429WithRetryAfter() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			Assignment assignment = fixtures.createOpenAssignment(2);
+			mockMvc.perform(from("10.0.0.1", post("/api/attempts/start/" + assignment.getId())))
+					.andExpect(status().isCreated());
+		}
+
+		Assignment rejected = fixtures.createOpenAssignment(2);
+		mockMvc.perform(from("10.0.0.1", post("/api/attempts/start/" + rejected.getId())))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+		assertThat(attemptRepository.findByAssignmentId(rejected.getId())).isEmpty();
+		assertThat(rejectedCount("start", "client")).isEqualTo(1);
+
+		// Other clients are not affected
+		mockMvc.perform(from("10.0.0.2", post("/api/attempts/start/" + rejected.getId())))
+				.andExpect(status().isCreated());
+	}
+
+	@Test
+	void answersAreLimitedPerAttempt() throws Exception {
+		Assignment assignment = fixtures.createOpenAssignment(1);
+		Long attemptId = startAttempt(assignment);
+		Long questionId = assignment.getQuestions().iterator().next().getId();
+		String answer = "{\"questionId\": " + questionId + ", \"selectedAnswer\": 1}";
+
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(post("/api/attempts/" + attemptId + "/answer").contentType(MediaType.APPLICATION_JSON).content(answer))
+					.andExpect(status().isOk());
+		}
+		mockMvc.perform(post("/api/attempts/" + attemptId + "/answer").contentType(MediaType.APPLICATION_JSON).content(answer))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void burstBeyondTheWaitQueueIsRejectedFast() throws Exception {
+		double rejectedBefore = rejectedCount("start", "queue");
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Long>> results = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			String client = "client-" + i;
+			results.add(executor.submit(() -> {
+				start.await();
+				return admissionControl.admit(AdmissionControl.START, "burst", client);
+			}));
+		}
+		long started = System.nanoTime();
+		start.countDown();
+		int admitted = 0;
+		for (Future<Long> result : results) {
+			if (result.get() == 0) {
+				admitted++;
+			} else {
+				assertThat(result.get()).isPositive(); // Retry-After seconds
+			}
+		}
+		executor.shutdown();
+
+		// The two queued requests wait for their tokens; the one token free at once may go to either
+		// a queued request or one that found the queue full; everything else is turned away
+		assertThat(admitted).isBetween(2, 3);
+		assertThat(rejectedCount("start", "queue") - rejectedBefore).isEqualTo(8 - admitted);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isBetween(400L, 1500L);
+		assertThat(admissionControl.getQueueDepth()).isZero();
+	}
+
+	@Test
+	void requestRejectedByTheSharedBucketKeepsItsClientToken() throws Exception {
+		// One start is admitted at once and two wait for their tokens, which fills the queue
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		List<Future<Long>> waiting = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			waiting.add(executor.submit(() -> admissionControl.admit(AdmissionControl.START, "refund", null)));
+		}
+		while (admissionControl.getQueueDepth() < 2) {
+			Thread.sleep(5);
+		}
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(admissionControl.admit(AdmissionControl.START, "refund", "student")).isPositive();
+		}
+		for (Future<Long> result : waiting) {
+			assertThat(result.get()).isZero();
+		}
+		executor.shutdown();
+
+		// More rejections than the client burst of 3, yet the client still has its whole burst
+		for (int i = 0; i < 3; i++) {
+			assertThat(admissionControl.admit(AdmissionControl.START, "refund", "student")).isZero();
+		}
+	}
+
+	private Long startAttempt(Assignment assignment) throws Exception {
+		String body = mockMvc.perform(from("10.0.0.3", post("/api/attempts/start/" + assignment.getId())))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readValue(body, AttemptDTO.class).getId();
+	}
+
+	private MockHttpServletRequestBuilder from(String remoteAddress, MockHttpServletRequestBuilder request) {
+		return request.with(mockRequest -> {
+			mockRequest.setRemoteAddr(remoteAddress);
+			return mockRequest;
+		});
+	}
+
+	private double rejectedCount(String operation, String reason) {
+		Counter counter = meterRegistry.find("quiz.admission.rejected").tag("operation", operation).tag("reason", reason).counter();
+		return counter == null ? 0 : counter.count();
+	}
+}
@@ -0,0 +1,112 @@
+package com.onlinequiz.online_quiz.cache;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.CreateAssignmentDTO;
+import com.onlinequiz.online_quiz.dto.CreateQuestionDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Question;
+import com.onlinequiz.online_quiz.service.AssignmentService;
+import com.onlinequiz.online_quiz.service.QuestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class AssignmentSnapshotCacheTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private AssignmentSnapshotCache cache;
+
+	@Autowired
+	private AssignmentService assignmentService;
+
+	@Autowired
+	private QuestionService questionService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void repeatedReadsAreServedFromCache() {
+		Assignment assignment = fixtures.createOpenAssignment(List.of(fixtures.createQuestion(1, 2), fixtures.createQuestion(2, 3)));
+		double hits = cacheGets("hit");
+		double misses = cacheGets("miss");
+
+		assertThat(cache.get(assignment.getId()).getTotalPoints()).isEqualTo(5);
+		assertThat(cache.get(assignment.getId())).isSameAs(cache.get(assignment.getId()));
+
+		assertThat(cacheGets("miss") - misses).isEqualTo(1);
+		assertThat(cacheGets("hit") - hits).isEqualTo(2);
+	}
+
+	@Test
+	void questionUpdateEvictsOnlyAssignmentsContainingIt() {
+		Question shared = fixtures.createQuestion(1, 2);
+		Assignment containing = fixtures.createOpenAssignment(List.of(shared));
+		Assignment other = fixtures.createOpenAssignment(List.of(fixtures.createQuestion(3, 4)));
+		AssignmentSnapshot otherSnapshot = cache.get(other.getId());
+		cache.get(containing.getId());
+
+		questionService.updateQuestion(shared.getId(), questionUpdate(4, 7));
+
+		QuestionSnapshot reloaded = cache.get(containing.getId()).getQuestions().get(0);
+		assertThat(reloaded.getCorrectOption()).isEqualTo(4);
+		assertThat(cache.get(containing.getId()).getTotalPoints()).isEqualTo(7);
+		assertThat(cache.get(other.getId())).isSameAs(otherSnapshot);
+	}
+
+	@Test
+	void assignmentUpdateAndDeleteEvictSnapshot() {
+		Question first = fixtures.createQuestion(1, 2);
+		Question second = fixtures.createQuestion(2, 5);
+		Assignment assignment = fixtures.createOpenAssignment(List.of(first));
+		cache.get(assignment.getId());
+
+		CreateAssignmentDTO update = new CreateAssignmentDTO();
+		update.setName("Renamed");
+		update.setStartTime(assignment.getStartTime());
+		update.setEndTime(assignment.getEndTime());
+		update.setDuration(assignment.getDuration());
+		update.setQuestionIds(List.of(first.getId(), second.getId()));
+		assignmentService.updateAssignment(assignment.getId(), update);
+
+		assertThat(cache.get(assignment.getId()).getName()).isEqualTo("Renamed");
+		assertThat(cache.get(assignment.getId()).getTotalPoints()).isEqualTo(7);
+
+		assignmentService.deleteAssignment(assignment.getId());
+		assertThatThrownBy(() -> cache.get(assignment.getId()))
+				.hasMessageContaining("Assignment not found");
+	}
+
+	private double cacheGets(String result) {
+		return meterRegistry.get("cache.gets")
+				.tag("cache", "assignmentSnapshots")
+				.tag("result", result)
+				.functionCounter()
+				.count();
+	}
+
+	private CreateQuestionDTO questionUpdate(int correctOption, int points) {
+		CreateQuestionDTO dto = new CreateQuestionDTO();
+		dto.setText("Question");
+		dto.setOptionA("A");
+		dto.setOptionB("B");
+		dto.setOptionC("C");
+		dto.setOptionD("D");
+		dto.setCorrectOption(correctOption);
+		dto.setDifficulty("EASY");
+		dto.setPoints(points);
+		return dto;
+	}
+}
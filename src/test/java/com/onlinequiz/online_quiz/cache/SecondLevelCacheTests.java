@@ -0,0 +1,152 @@
+package com.onlinequiz.online_quiz.cache;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.CreateAssignmentDTO;
+import com.onlinequiz.online_quiz.dto.CreateQuestionDTO;
+import com.onlinequiz.online_quiz.entity.Answer;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Question;
+import com.onlinequiz.online_quiz.repository.AnswerRepository;
+import com.onlinequiz.online_quiz.repository.AssignmentRepository;
+import com.onlinequiz.online_quiz.repository.QuestionRepository;
+import com.onlinequiz.online_quiz.service.AssignmentService;
+import com.onlinequiz.online_quiz.service.AttemptService;
+import com.onlinequiz.online_quiz.service.QuestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class SecondLevelCacheTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private QuestionService questionService;
+
+	@Autowired
+	private AssignmentService assignmentService;
+
+	@Autowired
+	private AttemptService attemptService;
+
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Autowired
+	private AssignmentRepository assignmentRepository;
+
+	@Autowired
+	private AnswerRepository answerRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+	}
+
+	@Test
+	void answerQuestionsComeFromCacheWithoutStaleCorrectOption() {
+		Assignment assignment = fixtures.createOpenAssignment(List.of(fixtures.createQuestion(1, 2)));
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		Long questionId = attempt.getAnswers().get(0).getQuestionId();
+		correctOptionSeenByAnswer(attempt.getId()); // make sure the question is cached
+
+		statistics.clear();
+		assertThat(correctOptionSeenByAnswer(attempt.getId())).isEqualTo(1);
+		assertThat(region("questions").getHitCount()).isEqualTo(1);
+		assertThat(region("questions").getMissCount()).isZero();
+
+		questionService.updateQuestion(questionId, questionUpdate(3));
+
+		assertThat(correctOptionSeenByAnswer(attempt.getId())).isEqualTo(3);
+		assertThat(questionRepository.findById(questionId).orElseThrow().getCorrectOption()).isEqualTo(3);
+		assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+				.tag("region", "questions")
+				.tag("result", "hit")
+				.functionCounter()
+				.count()).isPositive();
+	}
+
+	@Test
+	void assignmentQuestionSetFollowsServiceUpdates() {
+		Question first = fixtures.createQuestion(1, 2);
+		Question second = fixtures.createQuestion(2, 5);
+		Assignment assignment = fixtures.createOpenAssignment(List.of(first));
+		questionIdsOf(assignment.getId());
+
+		statistics.clear();
+		assertThat(questionIdsOf(assignment.getId())).containsExactly(first.getId());
+		assertThat(region("assignments").getHitCount()).isEqualTo(1);
+		assertThat(region("assignment-questions").getHitCount()).isEqualTo(1);
+
+		CreateAssignmentDTO update = new CreateAssignmentDTO();
+		update.setName(assignment.getName());
+		update.setStartTime(assignment.getStartTime());
+		update.setEndTime(assignment.getEndTime());
+		update.setDuration(assignment.getDuration());
+		update.setQuestionIds(List.of(second.getId()));
+		assignmentService.updateAssignment(assignment.getId(), update);
+
+		assertThat(questionIdsOf(assignment.getId())).containsExactly(second.getId());
+	}
+
+	private Integer correctOptionSeenByAnswer(Long attemptId) {
+		return transactionTemplate.execute(status -> {
+			Answer answer = answerRepository.findByAttemptId(attemptId).get(0);
+			return answer.getQuestion().getCorrectOption();
+		});
+	}
+
+	private Set<Long> questionIdsOf(Long assignmentId) {
+		return transactionTemplate.execute(status -> assignmentRepository.findById(assignmentId).orElseThrow()
+				.getQuestions().stream()
+				.map(Question::getId)
+				.collect(Collectors.toSet()));
+	}
+
+	private CacheRegionStatistics region(String name) {
+		return statistics.getDomainDataRegionStatistics(name);
+	}
+
+	private CreateQuestionDTO questionUpdate(int correctOption) {
+		CreateQuestionDTO dto = new CreateQuestionDTO();
+		dto.setText("Question");
+		dto.setOptionA("A");
+		dto.setOptionB("B");
+		dto.setOptionC("C");
+		dto.setOptionD("D");
+		dto.setCorrectOption(correctOption);
+		dto.setDifficulty("EASY");
+		dto.setPoints(2);
+		return dto;
+	}
+}
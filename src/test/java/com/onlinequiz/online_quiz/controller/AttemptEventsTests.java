@@ -0,0 +1,139 @@
+package com.onlinequiz.online_quiz.controller;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Attempt;
+import com.onlinequiz.online_quiz.repository.AttemptRepository;
+import com.onlinequiz.online_quiz.service.AttemptEventBroadcaster;
+import com.onlinequiz.online_quiz.service.AttemptService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Fast ticks; the sweeper never runs, so only the test submits attempts
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"quiz.attempts.events.tick-interval=100ms",
+		"quiz.attempts.expiry.sweep-interval=1h"
+})
+@Import(TestFixtures.class)
+class AttemptEventsTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private AttemptService attemptService;
+
+	@Autowired
+	private AttemptEventBroadcaster attemptEventBroadcaster;
+
+	@Autowired
+	private AttemptRepository attemptRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void ticksNeedNoQueriesAndTheStreamEndsWithTheSubmittedEvent() throws Exception {
+		Assignment assignment = fixtures.createOpenAssignment(3);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+
+		try (Stream<String> lines = open(attempt.getId())) {
+			Iterator<String> events = lines.iterator();
+			String first = nextData(events, "tick");
+			assertThat(first).contains("\"status\":\"IN_PROGRESS\"").contains("\"remainingTimeSeconds\":");
+			assertThat(attemptEventBroadcaster.getSubscriberCount()).isEqualTo(1);
+
+			statistics.clear();
+			for (int i = 0; i < 5; i++) {
+				nextData(events, "tick");
+			}
+			assertThat(statistics.getPrepareStatementCount()).isZero();
+
+			attemptService.submitAttempt(attempt.getId(), false);
+
+			String submitted = nextData(events, null);
+			while (submitted.contains("IN_PROGRESS")) {
+				submitted = nextData(events, null); // ticks sent before the submit
+			}
+			assertThat(submitted).contains("\"status\":\"SUBMITTED\"").contains("\"score\":0");
+			while (events.hasNext()) {
+				events.next(); // the server completes the stream
+			}
+		}
+		assertThat(attemptEventBroadcaster.getSubscriberCount()).isZero();
+	}
+
+	@Test
+	void submittedAttemptGetsTheFinalEventRightAway() throws Exception {
+		Assignment assignment = fixtures.createOpenAssignment(2);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		attemptService.submitAttempt(attempt.getId(), true);
+
+		try (Stream<String> lines = open(attempt.getId())) {
+			Iterator<String> events = lines.iterator();
+			assertThat(nextData(events, "submitted")).contains("\"status\":\"AUTO_SUBMITTED\"");
+		}
+	}
+
+	@Test
+	void attemptSubmittedBeforeThisInstanceSawItGetsItsStoredScore() throws Exception {
+		Assignment assignment = fixtures.createOpenAssignment(2);
+		AttemptDTO started = attemptService.startAttempt(assignment.getId());
+		// Submitted elsewhere, so no submitted event was published here
+		Attempt attempt = attemptRepository.findById(started.getId()).orElseThrow();
+		attempt.setStatus("SUBMITTED");
+		attempt.setScore(3);
+		attemptRepository.save(attempt);
+
+		try (Stream<String> lines = open(attempt.getId())) {
+			Iterator<String> events = lines.iterator();
+			assertThat(nextData(events, "submitted")).contains("\"status\":\"SUBMITTED\"").contains("\"score\":3");
+		}
+	}
+
+	private Stream<String> open(Long attemptId) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/attempts/" + attemptId + "/events"))
+				.header("Accept", "text/event-stream")
+				.timeout(Duration.ofSeconds(10))
+				.build();
+		HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+		assertThat(response.statusCode()).isEqualTo(200);
+		return response.body();
+	}
+
+	// Data of the next event, which must have the given name unless name is null
+	private String nextData(Iterator<String> lines, String name) {
+		String line = lines.next();
+		while (line.isEmpty()) {
+			line = lines.next();
+		}
+		if (name != null) {
+			assertThat(line).isEqualTo("event:" + name);
+		}
+		return lines.next();
+	}
+}
@@ -0,0 +1,119 @@
+package com.onlinequiz.online_quiz.controller;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.CreateQuestionDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Question;
+import com.onlinequiz.online_quiz.service.QuestionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class ConditionalGetTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private QuestionService questionService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void assignmentETagRevalidatesUntilAQuestionChanges() throws Exception {
+		Assignment assignment = fixtures.createOpenAssignment(3);
+		String url = "/api/assignments/" + assignment.getId();
+
+		String etag = mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).startsWith("\"a" + assignment.getId() + "-").endsWith("-open\"");
+
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(content().string(""));
+
+		Question question = assignment.getQuestions().iterator().next();
+		questionService.updateQuestion(question.getId(), questionUpdate(question, question.getCorrectOption() % 4 + 1));
+
+		String changed = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(changed).isNotEqualTo(etag);
+	}
+
+	@Test
+	void questionNotModifiedIsAnsweredFromTheVersionQueryAlone() throws Exception {
+		Question question = fixtures.createQuestion(2, 5);
+		String url = "/api/questions/" + question.getId();
+
+		String etag = mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+
+		questionService.updateQuestion(question.getId(), questionUpdate(question, 3));
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void questionListETagChangesWhenAQuestionIsAdded() throws Exception {
+		fixtures.createQuestion(1, 1);
+		String etag = mockMvc.perform(get("/api/questions"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/questions").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		fixtures.createQuestion(4, 2);
+		mockMvc.perform(get("/api/questions").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+	}
+
+	private CreateQuestionDTO questionUpdate(Question question, int correctOption) {
+		CreateQuestionDTO dto = new CreateQuestionDTO();
+		dto.setText(question.getText());
+		dto.setOptionA(question.getOptionA());
+		dto.setOptionB(question.getOptionB());
+		dto.setOptionC(question.getOptionC());
+		dto.setOptionD(question.getOptionD());
+		dto.setCorrectOption(correctOption);
+		dto.setDifficulty(question.getDifficulty());
+		dto.setPoints(question.getPoints());
+		return dto;
+	}
+}
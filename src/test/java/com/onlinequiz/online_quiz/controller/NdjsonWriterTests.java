@@ -0,0 +1,34 @@
+package com.onlinequiz.online_quiz.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonWriterTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void everyDocumentEndsWithANewline() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+			writer.write(Map.of("id", 1));
+			writer.write(Map.of("id", 2));
+		}
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+	}
+
+	@Test
+	void emptyResultIsAnEmptyBody() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+			// nothing to write
+		}
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEmpty();
+	}
+}
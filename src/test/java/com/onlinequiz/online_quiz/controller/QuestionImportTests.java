@@ -0,0 +1,113 @@
+package com.onlinequiz.online_quiz.controller;
+
+import com.onlinequiz.online_quiz.repository.QuestionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Small batches so the imports below span several of them
+@SpringBootTest(properties = "quiz.questions.import.batch-size=50")
+@AutoConfigureMockMvc
+class QuestionImportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Test
+	void ndjsonImportInsertsValidRowsAndReportsInvalidOnes() throws Exception {
+		StringBuilder body = new StringBuilder();
+		for (int i = 1; i <= 120; i++) {
+			body.append(ndjsonRow("Imported " + i, "A", i % 4 + 1, "\"MEDIUM\"", "3")).append('\n');
+		}
+		body.append(ndjsonRow("Bad option", "A", 5, "\"EASY\"", "1")).append('\n');                 // row 121
+		body.append(ndjsonRow("", "A", 1, "\"HARD\"", "1")).append('\n');                           // row 122
+		body.append(ndjsonRow("Bad points", "A", 1, "\"EASY\"", "\"many\"")).append('\n');          // row 123
+		body.append(ndjsonRow("Long option", "A".repeat(256), 1, "\"EASY\"", "1")).append('\n');    // row 124
+		body.append(ndjsonRow("Last", "A", 2, "\"EASY\"", "2")).append('\n');                       // row 125
+		long before = questionRepository.count();
+
+		mockMvc.perform(post("/api/questions/import").contentType(MediaType.APPLICATION_NDJSON).content(body.toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(121))
+				.andExpect(jsonPath("$.rejected").value(4))
+				.andExpect(jsonPath("$.errors[0].row").value(121))
+				.andExpect(jsonPath("$.errors[0].message").value("Correct option must be between 1 and 4"))
+				.andExpect(jsonPath("$.errors[1].row").value(122))
+				.andExpect(jsonPath("$.errors[1].message").value("Question text is required"))
+				.andExpect(jsonPath("$.errors[2].row").value(123))
+				.andExpect(jsonPath("$.errors[2].message").value("Invalid value for points"))
+				.andExpect(jsonPath("$.errors[3].row").value(124))
+				.andExpect(jsonPath("$.errors[3].message").value("Option A must be at most 255 characters"));
+
+		assertThat(questionRepository.count() - before).isEqualTo(121);
+		assertThat(questionRepository.findByDifficulty("MEDIUM")).filteredOn(q -> q.getText().startsWith("Imported "))
+				.hasSize(120)
+				.allSatisfy(question -> assertThat(question.getCreatedAt()).isNotNull());
+	}
+
+	@Test
+	void malformedNdjsonLineIsReportedAndTheImportGoesOn() throws Exception {
+		String body = ndjsonRow("Before", "A", 1, "\"EASY\"", "1") + "\n{\"text\": \"broken\n\n"
+				+ ndjsonRow("After", "A", 1, "\"EASY\"", "1") + " trailing\n"
+				+ ndjsonRow("Last", "A", 1, "\"EASY\"", "1") + "\n";
+
+		mockMvc.perform(post("/api/questions/import").contentType(MediaType.APPLICATION_NDJSON).content(body))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(2))
+				.andExpect(jsonPath("$.rejected").value(2))
+				.andExpect(jsonPath("$.errors[0].row").value(2))
+				.andExpect(jsonPath("$.errors[0].message").value(startsWith("Malformed input: ")))
+				.andExpect(jsonPath("$.errors[1].row").value(3));
+	}
+
+	@Test
+	void csvImportAndExportRoundTrip() throws Exception {
+		String csv = "text,optionA,optionB,optionC,optionD,correctOption,difficulty,points\n"
+				+ "\"Which, with a comma?\",one,two,three,four,2,EASY,1\n"
+				+ "\"Spans\ntwo lines\",\"say \"\"hi\"\"\",b,c,d,4,HARD,5\n"
+				+ "Missing difficulty,a,b,c,d,1,,2\n";
+
+		mockMvc.perform(post("/api/questions/import").contentType("text/csv").content(csv))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(2))
+				.andExpect(jsonPath("$.rejected").value(1))
+				.andExpect(jsonPath("$.errors[0].row").value(3))
+				.andExpect(jsonPath("$.errors[0].message").value(startsWith("Difficulty")));
+
+		MvcResult export = mockMvc.perform(get("/api/questions/export")).andReturn();
+		String exported = mockMvc.perform(asyncDispatch(export))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		assertThat(exported).startsWith("text,optionA,optionB,optionC,optionD,correctOption,difficulty,points\n")
+				.contains("\"Which, with a comma?\",one,two,three,four,2,EASY,1\n")
+				.contains("\"Spans\ntwo lines\",\"say \"\"hi\"\"\",b,c,d,4,HARD,5\n");
+
+		long before = questionRepository.count();
+		mockMvc.perform(post("/api/questions/import").contentType("text/csv").content(exported))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(before))
+				.andExpect(jsonPath("$.rejected").value(0));
+	}
+
+	private String ndjsonRow(String text, String optionA, int correctOption, String difficulty, String points) {
+		return "{\"text\":\"" + text + "\",\"optionA\":\"" + optionA + "\",\"optionB\":\"B\",\"optionC\":\"C\","
+				+ "\"optionD\":\"D\",\"correctOption\":" + correctOption + ",\"difficulty\":" + difficulty
+				+ ",\"points\":" + points + "}";
+	}
+}
@@ -0,0 +1,109 @@
+package com.onlinequiz.online_quiz.repository;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.config.AnswerSequenceMigration;
+import com.onlinequiz.online_quiz.dto.AnswerDTO;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.service.AttemptService;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs against the migrated schema (H2 in PostgreSQL mode) and checks the plans of the hot lookups
+@SpringBootTest
+@Import(TestFixtures.class)
+class SchemaMigrationTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private AttemptService attemptService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private AnswerSequenceMigration answerSequenceMigration;
+
+	@Test
+	void answerLookupsUseAttemptQuestionIndex() {
+		assertThat(plan("SELECT * FROM answers WHERE attempt_id = 1 AND question_id = 2"))
+				.contains("ux_answers_attempt_question");
+		// H2 also indexes foreign keys on its own and may pick that index here; either way no table scan
+		assertThat(plan("SELECT * FROM answers WHERE attempt_id = 1 ORDER BY question_id"))
+				.doesNotContain("tableScan");
+	}
+
+	@Test
+	void attemptLookupsUseAssignmentAndStatusIndexes() {
+		assertThat(plan("SELECT * FROM attempts WHERE assignment_id = 1 AND id > 10 ORDER BY id LIMIT 50"))
+				.contains("ix_attempts_assignment");
+		assertThat(plan("SELECT id, started_at FROM attempts WHERE status = 'IN_PROGRESS'"))
+				.contains("ix_attempts_status");
+	}
+
+	@Test
+	void availabilityLookupUsesWindowIndex() {
+		assertThat(plan("SELECT * FROM assignments WHERE start_time <= CURRENT_TIMESTAMP AND end_time >= CURRENT_TIMESTAMP"))
+				.contains("ix_assignments_window");
+	}
+
+	@Test
+	void duplicateAnswerRowsAreRejected() {
+		Assignment assignment = fixtures.createOpenAssignment(1);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		AnswerDTO answer = attempt.getAnswers().get(0);
+
+		assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO answers (id, attempt_id, question_id, marked_for_review, created_at) "
+				+ "VALUES (?, ?, ?, FALSE, CURRENT_TIMESTAMP)", -1L, attempt.getId(), answer.getQuestionId()))
+				.hasMessageContaining("ux_answers_attempt_question");
+	}
+
+	@Test
+	void answerSequenceMovesPastExistingIds() throws Exception {
+		Assignment assignment = fixtures.createOpenAssignment(2);
+		AttemptDTO legacy = attemptService.startAttempt(assignment.getId());
+		long legacyId = 1_000_000L;
+		jdbcTemplate.update("UPDATE answers SET id = ? WHERE id = ?", legacyId, legacy.getAnswers().get(0).getId());
+
+		try (Connection connection = dataSource.getConnection()) {
+			answerSequenceMigration.migrate(new Context() {
+				@Override
+				public Configuration getConfiguration() {
+					return null;
+				}
+
+				@Override
+				public Connection getConnection() {
+					return connection;
+				}
+			});
+		}
+
+		// Flush the generator's current block, then every new answer must land above the legacy ID
+		for (int i = 0; i < 30; i++) {
+			attemptService.startAttempt(assignment.getId());
+		}
+		AttemptDTO next = attemptService.startAttempt(assignment.getId());
+		assertThat(next.getAnswers()).extracting(AnswerDTO::getId).allSatisfy(id -> assertThat(id).isGreaterThan(legacyId));
+	}
+
+	private String plan(String sql) {
+		return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+	}
+}
@@ -0,0 +1,158 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.AnswerDTO;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.QuestionStatsDTO;
+import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Question;
+import com.onlinequiz.online_quiz.repository.AnswerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Flush interval is long enough that only explicit flushes write stats
+@SpringBootTest(properties = {
+		"quiz.answers.storage=vector",
+		"quiz.stats.flush-interval=1h"
+})
+@Import(TestFixtures.class)
+class AnswerVectorStorageTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private AttemptService attemptService;
+
+	@Autowired
+	private AssignmentStatsService assignmentStatsService;
+
+	@Autowired
+	private AssignmentStatsBuffer assignmentStatsBuffer;
+
+	@Autowired
+	private AnswerRepository answerRepository;
+
+	@Test
+	void answersAreGradedFromTheVectorAndReadBackAsDTOs() {
+		List<Question> questions = fixtures.createQuestions(20);
+		Assignment assignment = fixtures.createOpenAssignment(questions);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		assertThat(attempt.getAnswers()).hasSize(20)
+				.allSatisfy(answer -> assertThat(answer.getCorrectOption()).isNotNull());
+		assertThat(answerRepository.countByAttemptId(attempt.getId())).isZero();
+
+		int expectedScore = 0;
+		for (Question question : questions) {
+			if (question.getId() % 5 == 0) {
+				continue; // left unanswered
+			}
+			boolean correct = question.getId() % 2 == 0;
+			AnswerDTO saved = select(attempt.getId(), question.getId(),
+					correct ? question.getCorrectOption() : question.getCorrectOption() % 4 + 1, question.getId() % 3 == 0);
+			assertThat(saved.getIsCorrect()).isNull();
+			assertThat(saved.getCorrectOption()).isEqualTo(question.getCorrectOption());
+			expectedScore += correct ? question.getPoints() : 0;
+		}
+
+		AttemptDTO submitted = attemptService.submitAttempt(attempt.getId(), false);
+
+		assertThat(submitted.getScore()).isEqualTo(expectedScore).isPositive();
+		assertThat(submitted.getAnswers()).hasSize(20).allSatisfy(answer -> {
+			assertThat(answer.getId()).isNull();
+			assertThat(answer.getIsCorrect()).isEqualTo(answer.getCorrectOption().equals(answer.getSelectedAnswer()));
+			assertThat(answer.getMarkedForReview()).isEqualTo(answer.getSelectedAnswer() != null && answer.getQuestionId() % 3 == 0);
+		});
+		assertThat(attemptService.getAttemptById(attempt.getId())).usingRecursiveComparison().isEqualTo(submitted);
+		assertThat(attemptService.getAnswersByAttempt(attempt.getId()))
+				.usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(submitted.getAnswers());
+		assertThat(attemptService.getAttemptsByAssignment(assignment.getId()))
+				.usingRecursiveFieldByFieldElementComparator().containsExactly(submitted);
+		List<AttemptDTO> streamed = new ArrayList<>();
+		attemptService.streamAttemptsByAssignment(assignment.getId(), streamed::add);
+		assertThat(streamed).usingRecursiveFieldByFieldElementComparator().containsExactly(submitted);
+	}
+
+	@Test
+	void concurrentAnswersToOneAttemptAreAllKept() throws Exception {
+		Assignment assignment = fixtures.createOpenAssignment(40);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		List<Long> questionIds = attempt.getAnswers().stream().map(AnswerDTO::getQuestionId).toList();
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<?>> writers = new ArrayList<>();
+		for (int writer = 0; writer < 8; writer++) {
+			int offset = writer;
+			writers.add(executor.submit(() -> {
+				for (int i = offset; i < questionIds.size(); i += 8) {
+					select(attempt.getId(), questionIds.get(i), i % 4 + 1, false);
+				}
+			}));
+		}
+		for (Future<?> writer : writers) {
+			writer.get();
+		}
+		executor.shutdown();
+
+		List<AnswerDTO> answers = attemptService.getAnswersByAttempt(attempt.getId());
+		for (int i = 0; i < answers.size(); i++) {
+			assertThat(answers.get(i).getSelectedAnswer()).isEqualTo(i % 4 + 1);
+		}
+	}
+
+	@Test
+	void invalidAndLateAnswersAreRejected() {
+		Assignment assignment = fixtures.createOpenAssignment(2);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		Long questionId = attempt.getAnswers().get(0).getQuestionId();
+
+		assertThatThrownBy(() -> select(attempt.getId(), questionId, 5, false))
+				.hasMessageContaining("between 1 and 4");
+		assertThatThrownBy(() -> select(attempt.getId(), -1L, 1, false))
+				.hasMessageContaining("Answer record not found");
+
+		attemptService.submitAttempt(attempt.getId(), false);
+		assertThatThrownBy(() -> select(attempt.getId(), questionId, 1, false))
+				.hasMessageContaining("already completed");
+	}
+
+	@Test
+	void recomputedQuestionStatsMatchIncrementalStats() {
+		Assignment assignment = fixtures.createOpenAssignment(6);
+		for (int round = 0; round < 3; round++) {
+			AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+			for (AnswerDTO answer : attempt.getAnswers().subList(round, 6)) {
+				select(attempt.getId(), answer.getQuestionId(), round == 1 ? answer.getCorrectOption() % 4 + 1 : answer.getCorrectOption(), false);
+			}
+			attemptService.submitAttempt(attempt.getId(), round == 2);
+		}
+		assignmentStatsBuffer.flushAll();
+		List<QuestionStatsDTO> incremental = assignmentStatsService.getQuestionStats(assignment.getId());
+		assertThat(incremental).extracting(QuestionStatsDTO::getAnsweredCount).containsExactly(1, 2, 3, 3, 3, 3);
+		assertThat(incremental).extracting(QuestionStatsDTO::getCorrectCount).containsExactly(1, 1, 2, 2, 2, 2);
+
+		assignmentStatsService.recompute(assignment.getId());
+		assertThat(assignmentStatsService.getQuestionStats(assignment.getId()))
+				.usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(incremental);
+	}
+
+	private AnswerDTO select(Long attemptId, Long questionId, Integer option, boolean markedForReview) {
+		SubmitAnswerDTO submit = new SubmitAnswerDTO();
+		submit.setQuestionId(questionId);
+		submit.setSelectedAnswer(option);
+		submit.setMarkedForReview(markedForReview);
+		return attemptService.submitAnswer(attemptId, submit);
+	}
+}
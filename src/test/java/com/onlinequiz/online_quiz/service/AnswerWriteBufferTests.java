@@ -0,0 +1,147 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.AnswerDTO;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.repository.AnswerRepository;
+import com.onlinequiz.online_quiz.repository.projection.AnswerView;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Flush interval is long enough that only explicit flushes and submits write answers
+@SpringBootTest(properties = {
+		"quiz.answers.write-behind.enabled=true",
+		"quiz.answers.write-behind.flush-interval=1h"
+})
+@Import(TestFixtures.class)
+class AnswerWriteBufferTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private AttemptService attemptService;
+
+	@Autowired
+	private AnswerWriteBuffer answerWriteBuffer;
+
+	@Autowired
+	private AnswerRepository answerRepository;
+
+	@Test
+	void finalToggledAnswersAreScoredOnSubmit() {
+		Assignment assignment = fixtures.createOpenAssignment(20);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+
+		Map<Long, Integer> finalSelections = new HashMap<>();
+		int expectedScore = 0;
+		for (AnswerDTO answer : attempt.getAnswers()) {
+			for (int option = 1; option <= 4; option++) {
+				submit(attempt.getId(), answer.getQuestionId(), option, option % 2 == 0);
+			}
+			int last = answer.getQuestionId() % 2 == 0 ? answer.getCorrectOption() : answer.getCorrectOption() % 4 + 1;
+			submit(attempt.getId(), answer.getQuestionId(), last, false);
+			finalSelections.put(answer.getQuestionId(), last);
+			if (last == answer.getCorrectOption()) {
+				expectedScore += pointsOf(assignment, answer.getQuestionId());
+			}
+		}
+		for (AnswerView row : answerRepository.findViewsByAttemptId(attempt.getId())) {
+			assertThat(row.getSelectedAnswer()).isNull(); // nothing flushed yet
+		}
+
+		AttemptDTO submitted = attemptService.submitAttempt(attempt.getId(), false);
+
+		assertThat(submitted.getScore()).isEqualTo(expectedScore).isPositive();
+		assertThat(selections(attempt.getId())).isEqualTo(finalSelections);
+		assertThat(submitted.getAnswers()).extracting(AnswerDTO::getMarkedForReview).containsOnly(false);
+	}
+
+	@Test
+	void concurrentWritersKeepTheirLastAnswer() throws Exception {
+		Assignment assignment = fixtures.createOpenAssignment(40);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		List<Long> questionIds = attempt.getAnswers().stream().map(AnswerDTO::getQuestionId).toList();
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<?>> writers = new ArrayList<>();
+		for (int writer = 0; writer < 8; writer++) {
+			int offset = writer;
+			writers.add(executor.submit(() -> {
+				for (int round = 1; round <= 25; round++) {
+					for (int i = offset; i < questionIds.size(); i += 8) {
+						submit(attempt.getId(), questionIds.get(i), round % 4 + 1, false);
+					}
+					if (round % 10 == 0) {
+						answerWriteBuffer.flushAll(); // interleave periodic flushes with writes
+					}
+				}
+			}));
+		}
+		for (Future<?> writer : writers) {
+			writer.get();
+		}
+		executor.shutdown();
+
+		attemptService.submitAttempt(attempt.getId(), false);
+
+		assertThat(selections(attempt.getId()).values()).hasSize(40).containsOnly(25 % 4 + 1);
+	}
+
+	@Test
+	void periodicFlushPersistsAndSubmitClosesTheBuffer() {
+		Assignment assignment = fixtures.createOpenAssignment(3);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		Long questionId = attempt.getAnswers().get(0).getQuestionId();
+
+		submit(attempt.getId(), questionId, 3, true);
+		answerWriteBuffer.flushAll();
+
+		AnswerView row = answerRepository.findViewsByAttemptId(attempt.getId()).get(0);
+		assertThat(row.getSelectedAnswer()).isEqualTo(3);
+		assertThat(row.getMarkedForReview()).isTrue();
+
+		attemptService.submitAttempt(attempt.getId(), false);
+		assertThatThrownBy(() -> submit(attempt.getId(), questionId, 1, false))
+				.hasMessageContaining("already completed");
+		assertThat(answerRepository.findViewsByAttemptId(attempt.getId()).get(0).getSelectedAnswer()).isEqualTo(3);
+	}
+
+	private void submit(Long attemptId, Long questionId, Integer option, boolean markedForReview) {
+		SubmitAnswerDTO submit = new SubmitAnswerDTO();
+		submit.setQuestionId(questionId);
+		submit.setSelectedAnswer(option);
+		submit.setMarkedForReview(markedForReview);
+		attemptService.submitAnswer(attemptId, submit);
+	}
+
+	private Map<Long, Integer> selections(Long attemptId) {
+		Map<Long, Integer> selections = new HashMap<>();
+		for (AnswerView row : answerRepository.findViewsByAttemptId(attemptId)) {
+			selections.put(row.getQuestionId(), row.getSelectedAnswer());
+		}
+		return selections;
+	}
+
+	private int pointsOf(Assignment assignment, Long questionId) {
+		return assignment.getQuestions().stream()
+				.filter(question -> question.getId().equals(questionId))
+				.findFirst().orElseThrow()
+				.getPoints();
+	}
+}
@@ -0,0 +1,149 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.AssignmentDTO;
+import com.onlinequiz.online_quiz.dto.AssignmentSummaryDTO;
+import com.onlinequiz.online_quiz.dto.CreateAssignmentDTO;
+import com.onlinequiz.online_quiz.dto.QuestionDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Question;
+import com.onlinequiz.online_quiz.repository.AssignmentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class AssignmentServiceTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private AssignmentService assignmentService;
+
+	@Autowired
+	private AssignmentRepository assignmentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+	}
+
+	@Test
+	void summariesMatchFullListingInOneQuery() {
+		Assignment small = fixtures.createOpenAssignment(3);
+		Assignment large = fixtures.createOpenAssignment(40);
+		Assignment empty = fixtures.createOpenAssignment(List.<Question>of());
+
+		statistics.clear();
+		List<AssignmentSummaryDTO> summaries = assignmentService.getAllAssignmentSummaries();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+
+		Map<Long, AssignmentDTO> full = assignmentService.getAllAssignments().stream()
+				.collect(Collectors.toMap(AssignmentDTO::getId, Function.identity()));
+		assertThat(summaries).extracting(AssignmentSummaryDTO::getId)
+				.containsSubsequence(empty.getId(), large.getId(), small.getId());
+		for (AssignmentSummaryDTO summary : summaries) {
+			AssignmentDTO expected = full.get(summary.getId());
+			assertThat(summary.getQuestionCount()).isEqualTo(expected.getQuestions().size());
+			assertThat(summary.getTotalPoints()).isEqualTo(expected.getTotalPoints());
+			assertThat(summary.getIsAvailable()).isEqualTo(expected.getIsAvailable());
+			assertThat(summary.getName()).isEqualTo(expected.getName());
+		}
+	}
+
+	@Test
+	void availableSummariesOnlyListOpenAssignments() {
+		Assignment open = fixtures.createOpenAssignment(2);
+		Assignment closed = withWindow(fixtures.createOpenAssignment(2), -3, -1);
+		Assignment future = withWindow(fixtures.createOpenAssignment(2), 1, 3);
+
+		List<AssignmentSummaryDTO> available = assignmentService.getAvailableAssignmentSummaries();
+
+		assertThat(available).extracting(AssignmentSummaryDTO::getId).contains(open.getId())
+				.doesNotContain(closed.getId(), future.getId());
+		assertThat(available).allSatisfy(summary -> assertThat(summary.getIsAvailable()).isTrue());
+		assertThat(available).extracting(AssignmentSummaryDTO::getId)
+				.containsExactlyInAnyOrderElementsOf(assignmentService.getAvailableAssignments().stream().map(AssignmentDTO::getId).toList());
+	}
+
+	@Test
+	void createResolvesQuestionIdsInOneQuery() {
+		List<Long> questionIds = fixtures.createQuestions(200).stream().map(Question::getId).toList();
+
+		statistics.clear();
+		AssignmentDTO created = assignmentService.createAssignment(assignmentRequest(questionIds));
+
+		assertThat(created.getQuestions()).hasSize(200);
+		// One IN query for the questions, the assignment insert and the batched join-table inserts
+		assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+	}
+
+	@Test
+	void missingQuestionIdsAreAllReported() {
+		Long existing = fixtures.createQuestion(1, 1).getId();
+
+		assertThatThrownBy(() -> assignmentService.createAssignment(assignmentRequest(List.of(existing, -1L, -2L))))
+				.hasMessage("Questions not found with ids: -1, -2");
+		assertThatThrownBy(() -> assignmentService.createAssignment(assignmentRequest(List.of(existing, -3L))))
+				.hasMessage("Question not found with id: -3");
+	}
+
+	@Test
+	void updateWritesOnlyChangedQuestionLinks() {
+		List<Question> questions = fixtures.createQuestions(101);
+		List<Long> initial = questions.subList(0, 100).stream().map(Question::getId).toList();
+		AssignmentDTO assignment = assignmentService.createAssignment(assignmentRequest(initial));
+
+		List<Long> swapped = new ArrayList<>(initial.subList(1, 100));
+		swapped.add(questions.get(100).getId());
+		statistics.clear();
+		AssignmentDTO updated = assignmentService.updateAssignment(assignment.getId(), assignmentRequest(swapped));
+
+		assertThat(updated.getQuestions()).extracting(QuestionDTO::getId).containsExactlyInAnyOrderElementsOf(swapped);
+		assertThat(statistics.getCollectionRecreateCount()).isZero();
+		assertThat(statistics.getCollectionUpdateCount()).isEqualTo(1);
+		// Assignment with questions, the IN query, the assignment update, one link delete and one link insert
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+	}
+
+	private CreateAssignmentDTO assignmentRequest(List<Long> questionIds) {
+		CreateAssignmentDTO dto = new CreateAssignmentDTO();
+		dto.setName("Resolved assignment");
+		dto.setStartTime(LocalDateTime.now().plusHours(1));
+		dto.setEndTime(LocalDateTime.now().plusHours(3));
+		dto.setDuration(60);
+		dto.setQuestionIds(questionIds);
+		return dto;
+	}
+
+	// Moves the assignment's start and end time to the given hours from now
+	private Assignment withWindow(Assignment assignment, int startHours, int endHours) {
+		assignment.setStartTime(LocalDateTime.now().plusHours(startHours));
+		assignment.setEndTime(LocalDateTime.now().plusHours(endHours));
+		return assignmentRepository.save(assignment);
+	}
+}
@@ -0,0 +1,141 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.AssignmentStatsDTO;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.QuestionStatsDTO;
+import com.onlinequiz.online_quiz.dto.ScoreBucketDTO;
+import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Question;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+// Flush interval is long enough that only explicit flushes write stats
+@SpringBootTest(properties = "quiz.stats.flush-interval=1h")
+@Import(TestFixtures.class)
+class AssignmentStatsServiceTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private AttemptService attemptService;
+
+	@Autowired
+	private AssignmentStatsService assignmentStatsService;
+
+	@MockitoSpyBean
+	private AssignmentStatsBuffer assignmentStatsBuffer;
+
+	@Test
+	void submitsAreAggregatedOnFlushAndMatchRecompute() {
+		// Correct options 1-4, points 1, 2, 3, 1 (7 in total)
+		List<Question> questions = fixtures.createQuestions(4);
+		Assignment assignment = fixtures.createOpenAssignment(questions);
+		submit(assignment, questions, new Integer[] { 1, 2, 3, 4 }, false); // 7 points
+		submit(assignment, questions, new Integer[] { 1, 2, 1, null }, false); // 3 points
+		submit(assignment, questions, new Integer[] { 2, null, null, null }, true); // 0 points
+
+		assertThat(assignmentStatsService.getStats(assignment.getId()).getSubmittedCount()).isZero();
+		assignmentStatsBuffer.flushAll();
+
+		AssignmentStatsDTO stats = assignmentStatsService.getStats(assignment.getId());
+		assertThat(stats.getSubmittedCount()).isEqualTo(3);
+		assertThat(stats.getAutoSubmittedCount()).isEqualTo(1);
+		assertThat(stats.getAverageScore()).isCloseTo(10 / 3.0, within(1e-9));
+		assertThat(stats.getAverageCompletionSeconds()).isNotNull();
+		assertThat(stats.getScoreHistogram()).extracting(ScoreBucketDTO::getAttemptCount)
+				.containsExactly(1, 0, 0, 0, 1, 0, 0, 0, 0, 1);
+		assertThat(stats.getScoreHistogram().get(4).getFromPercent()).isEqualTo(40);
+		assertThat(stats.getScoreHistogram().get(4).getToPercent()).isEqualTo(50);
+
+		List<QuestionStatsDTO> questionStats = assignmentStatsService.getQuestionStats(assignment.getId());
+		assertThat(questionStats).extracting(QuestionStatsDTO::getQuestionId)
+				.containsExactlyElementsOf(questions.stream().map(Question::getId).toList());
+		assertThat(questionStats).extracting(QuestionStatsDTO::getAnsweredCount).containsExactly(3, 2, 2, 1);
+		assertThat(questionStats).extracting(QuestionStatsDTO::getCorrectCount).containsExactly(2, 2, 1, 1);
+		assertThat(questionStats.get(0).getCorrectRate()).isCloseTo(2 / 3.0, within(1e-9));
+
+		AssignmentStatsDTO recomputed = assignmentStatsService.recompute(assignment.getId());
+		// Completion times are summed in milliseconds on both paths; the stored timestamps may differ by rounding
+		assertThat(recomputed).usingRecursiveComparison().ignoringFields("updatedAt", "averageCompletionSeconds").isEqualTo(stats);
+		assertThat(recomputed.getAverageCompletionSeconds()).isCloseTo(stats.getAverageCompletionSeconds(), within(0.01));
+		assertThat(assignmentStatsService.getQuestionStats(assignment.getId()))
+				.usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(questionStats);
+	}
+
+	@Test
+	void assignmentWithoutSubmitsHasEmptyStats() {
+		Assignment assignment = fixtures.createOpenAssignment(2);
+		attemptService.startAttempt(assignment.getId()); // in progress attempts are not counted
+		assignmentStatsBuffer.flushAll();
+
+		AssignmentStatsDTO stats = assignmentStatsService.recompute(assignment.getId());
+		assertThat(stats.getSubmittedCount()).isZero();
+		assertThat(stats.getAverageScore()).isNull();
+		assertThat(stats.getScoreHistogram()).hasSize(10)
+				.allSatisfy(bucket -> assertThat(bucket.getAttemptCount()).isZero());
+		assertThat(assignmentStatsService.getQuestionStats(assignment.getId())).isEmpty();
+	}
+
+	@Test
+	void recomputeWaitsForAFlushInProgressAndCountsEachSubmitOnce() throws Exception {
+		List<Question> questions = fixtures.createQuestions(2);
+		Assignment assignment = fixtures.createOpenAssignment(questions);
+		submit(assignment, questions, new Integer[] { 1, 2 }, false);
+
+		// The flush has drained the submit's delta but not written it yet
+		CountDownLatch applying = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			applying.countDown();
+			release.await();
+			return invocation.callRealMethod();
+		}).when(assignmentStatsBuffer).apply(anyMap());
+		CompletableFuture<Void> flush = CompletableFuture.runAsync(assignmentStatsBuffer::flushAll);
+		assertThat(applying.await(5, TimeUnit.SECONDS)).isTrue();
+		reset(assignmentStatsBuffer);
+
+		CompletableFuture<AssignmentStatsDTO> recompute = CompletableFuture.supplyAsync(
+				() -> assignmentStatsService.recompute(assignment.getId()));
+		Thread.sleep(200);
+		assertThat(recompute).isNotDone();
+
+		release.countDown();
+		flush.get(5, TimeUnit.SECONDS);
+		assertThat(recompute.get(5, TimeUnit.SECONDS).getSubmittedCount()).isEqualTo(1);
+		assignmentStatsBuffer.flushAll();
+		assertThat(assignmentStatsService.getStats(assignment.getId()).getSubmittedCount()).isEqualTo(1);
+		assertThat(assignmentStatsService.getQuestionStats(assignment.getId()))
+				.allSatisfy(question -> assertThat(question.getAnsweredCount()).isEqualTo(1));
+	}
+
+	// Select the given option for each question (null leaves it unanswered) and submit
+	private void submit(Assignment assignment, List<Question> questions, Integer[] options, boolean autoSubmit) {
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		for (int i = 0; i < questions.size(); i++) {
+			if (options[i] != null) {
+				SubmitAnswerDTO submit = new SubmitAnswerDTO();
+				submit.setQuestionId(questions.get(i).getId());
+				submit.setSelectedAnswer(options[i]);
+				attemptService.submitAnswer(attempt.getId(), submit);
+			}
+		}
+		attemptService.submitAttempt(attempt.getId(), autoSubmit);
+	}
+}
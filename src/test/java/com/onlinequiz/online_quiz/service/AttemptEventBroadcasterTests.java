@@ -0,0 +1,117 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.dto.AttemptEventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+// Ticks only when the test calls tickAll; the sweeper never runs
+@SpringBootTest(properties = {
+		"quiz.attempts.events.tick-interval=1h",
+		"quiz.attempts.events.send-timeout=300ms",
+		"quiz.attempts.expiry.sweep-interval=1h"
+})
+class AttemptEventBroadcasterTests {
+
+	@Autowired
+	private AttemptEventBroadcaster broadcaster;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void blockedSubscriberDelaysNobodyAndIsDropped() throws Exception {
+		LocalDateTime endsAt = LocalDateTime.now().plusMinutes(30);
+		BlockedEmitter blocked = new BlockedEmitter();
+		RecordingEmitter sameAttempt = new RecordingEmitter();
+		RecordingEmitter otherAttempt = new RecordingEmitter();
+		broadcaster.register(900_001L, endsAt, blocked);
+		broadcaster.register(900_001L, endsAt, sameAttempt);
+		broadcaster.register(900_002L, endsAt, otherAttempt);
+		double droppedBefore = meterRegistry.counter("quiz.attempts.events.dropped").count();
+
+		assertTimeoutPreemptively(Duration.ofSeconds(1), () -> broadcaster.tickAll());
+		assertThat(blocked.entered.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(sameAttempt.next().getStatus()).isEqualTo("IN_PROGRESS");
+		assertThat(otherAttempt.next().getStatus()).isEqualTo("IN_PROGRESS");
+
+		// Later ticks still reach the others; the first one after the send timeout drops the blocked stream
+		Thread.sleep(400);
+		assertTimeoutPreemptively(Duration.ofSeconds(1), () -> broadcaster.tickAll());
+		assertThat(sameAttempt.next().getStatus()).isEqualTo("IN_PROGRESS");
+		assertThat(otherAttempt.next().getStatus()).isEqualTo("IN_PROGRESS");
+		assertThat(broadcaster.getSubscriberCount()).isEqualTo(2);
+		assertThat(meterRegistry.counter("quiz.attempts.events.dropped").count() - droppedBefore).isEqualTo(1);
+
+		// The submitting thread only queues the final event
+		assertTimeoutPreemptively(Duration.ofSeconds(1), () -> broadcaster.submitted(900_001L, "SUBMITTED", 4));
+		AttemptEventDTO submitted = sameAttempt.next();
+		assertThat(submitted.getStatus()).isEqualTo("SUBMITTED");
+		assertThat(submitted.getScore()).isEqualTo(4);
+		assertThat(sameAttempt.completed.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// Once its send returns, the dropped stream is completed and gets nothing more
+		blocked.release.countDown();
+		assertThat(blocked.completed.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(blocked.sends).isEqualTo(1);
+		assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+	}
+
+	// Records the events sent to it
+	private static class RecordingEmitter extends SseEmitter {
+		final BlockingQueue<AttemptEventDTO> events = new LinkedBlockingQueue<>();
+		final CountDownLatch completed = new CountDownLatch(1);
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+				if (data.getData() instanceof AttemptEventDTO event) {
+					events.add(event);
+				}
+			}
+		}
+
+		@Override
+		public void complete() {
+			completed.countDown();
+		}
+
+		AttemptEventDTO next() throws InterruptedException {
+			AttemptEventDTO event = events.poll(5, TimeUnit.SECONDS);
+			assertThat(event).isNotNull();
+			return event;
+		}
+	}
+
+	// A client that stops reading: its first send does not return until the test releases it
+	private static class BlockedEmitter extends RecordingEmitter {
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		volatile int sends;
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			sends++;
+			entered.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.AnswerDTO;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Attempt;
+import com.onlinequiz.online_quiz.repository.AttemptRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Sweeps are triggered by the tests; the scheduled one only runs at startup. Small batches so a test
+// can fill one
+@SpringBootTest(properties = {
+		"quiz.attempts.expiry.sweep-interval=1h",
+		"quiz.attempts.expiry.batch-size=3"
+})
+@Import(TestFixtures.class)
+class AttemptExpirySweeperTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@MockitoSpyBean
+	private AttemptService attemptService;
+
+	@Autowired
+	private AttemptExpirySweeper sweeper;
+
+	@Autowired
+	private AttemptDeadlineQueue deadlineQueue;
+
+	@Autowired
+	private AttemptRepository attemptRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void expiredAttemptsAreAutoSubmittedAndScored() {
+		Assignment assignment = fixtures.createOpenAssignment(5);
+		AttemptDTO answered = attemptService.startAttempt(assignment.getId());
+		AttemptDTO idle = attemptService.startAttempt(assignment.getId());
+		AttemptDTO running = attemptService.startAttempt(assignment.getId());
+		AnswerDTO first = answered.getAnswers().get(0);
+		select(answered.getId(), first.getQuestionId(), first.getCorrectOption());
+
+		backdate(answered.getId(), 120);
+		backdate(idle.getId(), 62);
+		sweeper.loadInProgressAttempts();
+		double submittedBefore = meterRegistry.counter("quiz.attempts.auto_submitted").count();
+
+		sweeper.sweep();
+
+		Attempt scored = attemptRepository.findById(answered.getId()).orElseThrow();
+		assertThat(scored.getStatus()).isEqualTo("AUTO_SUBMITTED");
+		assertThat(scored.getScore()).isEqualTo(assignment.getQuestions().stream()
+				.filter(question -> question.getId().equals(first.getQuestionId()))
+				.findFirst().orElseThrow().getPoints());
+		assertThat(attemptRepository.findById(idle.getId()).orElseThrow().getStatus()).isEqualTo("AUTO_SUBMITTED");
+		assertThat(attemptRepository.findById(running.getId()).orElseThrow().getStatus()).isEqualTo("IN_PROGRESS");
+		assertThat(deadlineQueue.isTracked(running.getId())).isTrue();
+		assertThat(meterRegistry.counter("quiz.attempts.auto_submitted").count() - submittedBefore).isEqualTo(2);
+		assertThat(meterRegistry.timer("quiz.attempts.expiry.lag").count()).isPositive();
+	}
+
+	@Test
+	void attemptInsideGracePeriodIsNotSubmitted() {
+		Assignment assignment = fixtures.createOpenAssignment(2);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+
+		backdate(attempt.getId(), 60); // duration reached, grace minute still running
+		sweeper.loadInProgressAttempts();
+		sweeper.sweep();
+
+		assertThat(attemptRepository.findById(attempt.getId()).orElseThrow().getStatus()).isEqualTo("IN_PROGRESS");
+		AnswerDTO answer = attempt.getAnswers().get(0);
+		assertThat(select(attempt.getId(), answer.getQuestionId(), 1).getSelectedAnswer()).isEqualTo(1);
+	}
+
+	@Test
+	void submittedAttemptIsNoLongerTracked() {
+		Assignment assignment = fixtures.createOpenAssignment(2);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		assertThat(deadlineQueue.isTracked(attempt.getId())).isTrue();
+
+		attemptService.submitAttempt(attempt.getId(), false);
+
+		assertThat(deadlineQueue.isTracked(attempt.getId())).isFalse();
+	}
+
+	@Test
+	void lateAnswerAutoSubmitIsPersisted() {
+		Assignment assignment = fixtures.createOpenAssignment(2);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		backdate(attempt.getId(), 90);
+
+		AnswerDTO answer = attempt.getAnswers().get(0);
+		assertThatThrownBy(() -> select(attempt.getId(), answer.getQuestionId(), answer.getCorrectOption()))
+				.hasMessageContaining("auto-submitted");
+
+		assertThat(attemptRepository.findById(attempt.getId()).orElseThrow().getStatus()).isEqualTo("AUTO_SUBMITTED");
+		assertThat(deadlineQueue.isTracked(attempt.getId())).isFalse();
+	}
+
+	@Test
+	void failingBatchIsRetriedOnTheNextSweepNotInALoop() {
+		Assignment assignment = fixtures.createOpenAssignment(2);
+		List<Long> attemptIds = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Long attemptId = attemptService.startAttempt(assignment.getId()).getId();
+			backdate(attemptId, 90);
+			attemptIds.add(attemptId);
+			doThrow(new RuntimeException("Database unavailable")).when(attemptService).submitAttempt(attemptId, true);
+		}
+		sweeper.loadInProgressAttempts();
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> sweeper.sweep());
+
+		for (Long attemptId : attemptIds) {
+			verify(attemptService, times(1)).submitAttempt(attemptId, true);
+			assertThat(deadlineQueue.isTracked(attemptId)).isTrue();
+		}
+
+		reset(attemptService);
+		sweeper.sweep();
+		for (Long attemptId : attemptIds) {
+			assertThat(attemptRepository.findById(attemptId).orElseThrow().getStatus()).isEqualTo("AUTO_SUBMITTED");
+		}
+	}
+
+	private AnswerDTO select(Long attemptId, Long questionId, Integer option) {
+		SubmitAnswerDTO submit = new SubmitAnswerDTO();
+		submit.setQuestionId(questionId);
+		submit.setSelectedAnswer(option);
+		return attemptService.submitAnswer(attemptId, submit);
+	}
+
+	private void backdate(Long attemptId, int minutes) {
+		Attempt attempt = attemptRepository.findById(attemptId).orElseThrow();
+		attempt.setStartedAt(LocalDateTime.now().minusMinutes(minutes));
+		attemptRepository.save(attempt);
+	}
+}
@@ -0,0 +1,85 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.cache.AssignmentSnapshotCache;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.repository.AssignmentRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Only explicit passes run, and the pool starts below its maximum size
+@SpringBootTest(properties = {
+		"quiz.attempts.prewarm.interval=1h",
+		"quiz.attempts.prewarm.lead=5m",
+		"spring.datasource.hikari.minimum-idle=1",
+		"spring.datasource.hikari.maximum-pool-size=4"
+})
+@Import(TestFixtures.class)
+class AttemptPrewarmerTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private AttemptPrewarmer attemptPrewarmer;
+
+	@Autowired
+	private AssignmentSnapshotCache assignmentSnapshotCache;
+
+	@Autowired
+	private AssignmentRepository assignmentRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void upcomingAssignmentsAreLoadedAndThePoolKeptFullBeforeTheyStart() {
+		Assignment soon = startingIn(2);
+		Assignment later = startingIn(30);
+
+		attemptPrewarmer.prewarm();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+		assertThat(assignmentSnapshotCache.get(soon.getId()).getQuestions()).hasSize(5);
+		assertThat(assignmentSnapshotCache.get(soon.getId()).getAnswerKey().indexOf(soon.getQuestions().iterator().next().getId()))
+				.isNotNegative();
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		assignmentSnapshotCache.get(later.getId());
+		assertThat(statistics.getPrepareStatementCount()).isPositive();
+
+		// Hikari's housekeeper opens the connections; the pre-warmer never borrows one
+		HikariDataSource hikari = (HikariDataSource) dataSource;
+		assertThat(hikari.getMinimumIdle()).isEqualTo(4);
+		assertThat(hikari.getHikariPoolMXBean().getActiveConnections()).isZero();
+
+		// Once nothing is about to start, idle connections may retire again
+		soon.setStartTime(LocalDateTime.now().minusMinutes(1));
+		assignmentRepository.save(soon);
+		attemptPrewarmer.prewarm();
+		assertThat(hikari.getMinimumIdle()).isEqualTo(1);
+	}
+
+	private Assignment startingIn(int minutes) {
+		Assignment assignment = fixtures.createOpenAssignment(5);
+		assignment.setStartTime(LocalDateTime.now().plusMinutes(minutes));
+		assignment.setEndTime(LocalDateTime.now().plusMinutes(minutes + 60));
+		return assignmentRepository.save(assignment);
+	}
+}
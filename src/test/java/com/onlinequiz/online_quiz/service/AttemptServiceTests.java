@@ -0,0 +1,246 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.AnswerDTO;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.AttemptStatusDTO;
+import com.onlinequiz.online_quiz.dto.CreateQuestionDTO;
+import com.onlinequiz.online_quiz.dto.CursorPageDTO;
+import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Question;
+import com.onlinequiz.online_quiz.repository.AnswerRepository;
+import com.onlinequiz.online_quiz.repository.QuestionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class AttemptServiceTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private AttemptService attemptService;
+
+	@Autowired
+	private QuestionService questionService;
+
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Autowired
+	private AnswerRepository answerRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+	}
+
+	@Test
+	void startAttemptInsertsAnswerRowsInBatches() {
+		Assignment assignment = fixtures.createOpenAssignment(200);
+
+		statistics.clear();
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(201);
+		// Assignment loads, attempt insert, sequence fetches, the 50-row answer
+		// batches and the DTO read-back; one-by-one inserts would need 200+
+		assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+		assertThat(attempt.getAnswers()).hasSize(200);
+		assertThat(answerRepository.countByAttemptId(attempt.getId())).isEqualTo(200);
+	}
+
+	@Test
+	void setBasedScoringMatchesPerEntityReference() {
+		Assignment assignment = fixtures.createOpenAssignment(120);
+		AttemptDTO scored = attemptService.startAttempt(assignment.getId());
+		AttemptDTO reference = attemptService.startAttempt(assignment.getId());
+		answerSome(scored);
+		answerSome(reference);
+
+		statistics.clear();
+		AttemptDTO submitted = attemptService.submitAttempt(scored.getId(), false);
+		long submitStatements = statistics.getPrepareStatementCount();
+
+		int expectedScore = attemptService.calculateScoreByEntity(reference.getId());
+		assertThat(submitted.getScore()).isEqualTo(expectedScore).isPositive();
+		assertThat(submitted.getStatus()).isEqualTo("SUBMITTED");
+		assertThat(correctness(submitted.getId())).isEqualTo(correctness(reference.getId()));
+		// Attempt load, grading UPDATE, score aggregate, attempt merge/update and DTO read-back
+		assertThat(submitStatements).isLessThan(12);
+	}
+
+	@Test
+	void attemptDTOsLoadInBoundedQueries() {
+		Assignment assignment = fixtures.createOpenAssignment(30);
+		for (int i = 0; i < 25; i++) {
+			attemptService.startAttempt(assignment.getId());
+		}
+
+		statistics.clear();
+		List<AttemptDTO> attempts = attemptService.getAttemptsByAssignment(assignment.getId());
+		assertThat(attempts).hasSize(25).allSatisfy(attempt -> assertThat(attempt.getAnswers())
+				.hasSize(30)
+				.allSatisfy(answer -> assertThat(answer.getCorrectOption()).isNotNull()));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		statistics.clear();
+		AttemptDTO attempt = attemptService.getAttemptById(attempts.get(0).getId());
+		assertThat(attempt.getAnswers()).hasSize(30);
+		assertThat(attempt.getAssignmentName()).isEqualTo("Test assignment");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void pagedAndStreamedAttemptsMatchFullListing() {
+		Assignment assignment = fixtures.createOpenAssignment(10);
+		for (int i = 0; i < 7; i++) {
+			answerSome(attemptService.startAttempt(assignment.getId()));
+		}
+		List<AttemptDTO> expected = attemptService.getAttemptsByAssignment(assignment.getId());
+
+		List<AttemptDTO> paged = new ArrayList<>();
+		Long cursor = null;
+		do {
+			CursorPageDTO<AttemptDTO> page = attemptService.getAttemptsPageByAssignment(assignment.getId(), cursor, 3);
+			assertThat(page.getItems()).hasSizeLessThanOrEqualTo(3);
+			paged.addAll(page.getItems());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		List<AttemptDTO> streamed = new ArrayList<>();
+		attemptService.streamAttemptsByAssignment(assignment.getId(), streamed::add);
+
+		assertThat(paged).usingRecursiveFieldByFieldElementComparatorIgnoringFields("remainingTimeSeconds")
+				.containsExactlyElementsOf(expected);
+		assertThat(streamed).usingRecursiveFieldByFieldElementComparatorIgnoringFields("remainingTimeSeconds")
+				.containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	void gradingUsesAnswerKeyRebuiltAfterCorrectOptionChange() {
+		Assignment assignment = fixtures.createOpenAssignment(4);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		AnswerDTO changed = attempt.getAnswers().get(0);
+		AnswerDTO unchanged = attempt.getAnswers().get(1);
+		select(attempt, changed, changed.getCorrectOption());
+		select(attempt, unchanged, unchanged.getCorrectOption());
+
+		Question question = questionRepository.findById(changed.getQuestionId()).orElseThrow();
+		questionService.updateQuestion(question.getId(), questionUpdate(question, question.getCorrectOption() % 4 + 1));
+
+		AttemptDTO submitted = attemptService.submitAttempt(attempt.getId(), false);
+		int unchangedPoints = questionRepository.findById(unchanged.getQuestionId()).orElseThrow().getPoints();
+		assertThat(submitted.getScore()).isEqualTo(unchangedPoints);
+		assertThat(submitted.getAnswers()).extracting(AnswerDTO::getIsCorrect)
+				.containsExactly(false, true, false, false);
+	}
+
+	@Test
+	void attemptWithoutCorrectAnswersScoresZero() {
+		Assignment assignment = fixtures.createOpenAssignment(3);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+
+		AttemptDTO submitted = attemptService.submitAttempt(attempt.getId(), false);
+
+		assertThat(submitted.getScore()).isZero();
+		assertThat(submitted.getAnswers()).extracting(AnswerDTO::getIsCorrect).containsOnly(false);
+	}
+
+	@Test
+	void statusComesFromOneProjectionQuery() {
+		Assignment assignment = fixtures.createOpenAssignment(50);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+
+		statistics.clear();
+		AttemptStatusDTO status = attemptService.getAttemptStatus(attempt.getId());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		assertThat(status.getStatus()).isEqualTo("IN_PROGRESS");
+		assertThat(status.getAssignmentId()).isEqualTo(assignment.getId());
+		assertThat(status.getRemainingTimeSeconds()).isBetween(1, assignment.getDuration() * 60);
+
+		attemptService.submitAttempt(attempt.getId(), false);
+		AttemptStatusDTO submitted = attemptService.getAttemptStatus(attempt.getId());
+		assertThat(submitted.getStatus()).isEqualTo("SUBMITTED");
+		assertThat(submitted.getScore()).isZero();
+		assertThat(submitted.getRemainingTimeSeconds()).isNull();
+	}
+
+	@Test
+	void attemptFieldSelectionSkipsAnswersOrCorrectOptions() {
+		Assignment assignment = fixtures.createOpenAssignment(10);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+
+		statistics.clear();
+		AttemptDTO withoutAnswers = attemptService.getAttemptById(attempt.getId(), false, false);
+		assertThat(withoutAnswers.getAnswers()).isNull();
+		assertThat(withoutAnswers.getRemainingTimeSeconds()).isPositive();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		AttemptDTO withoutCorrectOptions = attemptService.getAttemptById(attempt.getId(), true, false);
+		assertThat(withoutCorrectOptions.getAnswers()).hasSize(10)
+				.allSatisfy(answer -> assertThat(answer.getCorrectOption()).isNull());
+		assertThat(attemptService.getAttemptById(attempt.getId()).getAnswers())
+				.allSatisfy(answer -> assertThat(answer.getCorrectOption()).isNotNull());
+	}
+
+	private void select(AttemptDTO attempt, AnswerDTO answer, Integer option) {
+		SubmitAnswerDTO submit = new SubmitAnswerDTO();
+		submit.setQuestionId(answer.getQuestionId());
+		submit.setSelectedAnswer(option);
+		attemptService.submitAnswer(attempt.getId(), submit);
+	}
+
+	private CreateQuestionDTO questionUpdate(Question question, int correctOption) {
+		CreateQuestionDTO dto = new CreateQuestionDTO();
+		dto.setText(question.getText());
+		dto.setOptionA(question.getOptionA());
+		dto.setOptionB(question.getOptionB());
+		dto.setOptionC(question.getOptionC());
+		dto.setOptionD(question.getOptionD());
+		dto.setCorrectOption(correctOption);
+		dto.setDifficulty(question.getDifficulty());
+		dto.setPoints(question.getPoints());
+		return dto;
+	}
+
+	private void answerSome(AttemptDTO attempt) {
+		for (AnswerDTO answer : attempt.getAnswers()) {
+			long id = answer.getQuestionId();
+			if (id % 5 == 0) {
+				continue; // left unanswered
+			}
+			SubmitAnswerDTO submit = new SubmitAnswerDTO();
+			submit.setQuestionId(id);
+			submit.setSelectedAnswer(id % 2 == 0 ? answer.getCorrectOption() : answer.getCorrectOption() % 4 + 1);
+			attemptService.submitAnswer(attempt.getId(), submit);
+		}
+	}
+
+	private List<Boolean> correctness(Long attemptId) {
+		return attemptService.getAnswersByAttempt(attemptId).stream()
+				.map(AnswerDTO::getIsCorrect)
+				.toList();
+	}
+}
@@ -0,0 +1,135 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.AnswerDTO;
+import com.onlinequiz.online_quiz.dto.AssignmentDTO;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.QuestionDTO;
+import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Question;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "quiz.attempts.shuffle.enabled=true")
+@Import(TestFixtures.class)
+class AttemptShuffleTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private AttemptService attemptService;
+
+	@Autowired
+	private AssignmentService assignmentService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void eachAttemptHasItsOwnStableOrder() {
+		Assignment assignment = fixtures.createOpenAssignment(30);
+		AttemptDTO first = attemptService.startAttempt(assignment.getId());
+		AttemptDTO second = attemptService.startAttempt(assignment.getId());
+
+		List<QuestionDTO> firstQuestions = attemptService.getAttemptQuestions(first.getId());
+		List<QuestionDTO> secondQuestions = attemptService.getAttemptQuestions(second.getId());
+
+		assertThat(attemptService.getAttemptQuestions(first.getId()))
+				.usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(firstQuestions);
+		assertThat(ids(firstQuestions)).containsExactlyInAnyOrderElementsOf(ids(secondQuestions))
+				.isNotEqualTo(ids(secondQuestions))
+				.isNotEqualTo(ids(firstQuestions).stream().sorted().toList());
+		assertThat(firstQuestions).allSatisfy(question -> assertThat(List.of(
+				question.getOptionA(), question.getOptionB(), question.getOptionC(), question.getOptionD()))
+				.containsExactlyInAnyOrder("A", "B", "C", "D"));
+		assertThat(firstQuestions).extracting(QuestionDTO::getOptionA).containsAnyOf("B", "C", "D");
+		assertThat(firstQuestions).extracting(QuestionDTO::getCorrectOption).containsOnlyNulls();
+
+		// Answers follow the same order, at start and on later reads
+		assertThat(first.getAnswers()).extracting(AnswerDTO::getQuestionId).containsExactlyElementsOf(ids(firstQuestions));
+		assertThat(attemptService.getAnswersByAttempt(first.getId())).extracting(AnswerDTO::getQuestionId)
+				.containsExactlyElementsOf(ids(firstQuestions));
+	}
+
+	@Test
+	void selectionsKeepTheQuestionsOwnNumbersAndAreGradedWithoutExtraQueries() {
+		List<Question> questions = fixtures.createQuestions(12);
+		Assignment assignment = fixtures.createOpenAssignment(questions);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+
+		// The option showing the correct text ("A" for option 1 and so on) is the one to select,
+		// submitted as the number optionOrder gives for its position
+		Map<Long, Integer> selectedCorrect = new HashMap<>();
+		for (QuestionDTO question : attemptService.getAttemptQuestions(attempt.getId())) {
+			Question stored = questions.stream().filter(q -> q.getId().equals(question.getId())).findFirst().orElseThrow();
+			String correctText = "ABCD".substring(stored.getCorrectOption() - 1, stored.getCorrectOption());
+			List<String> shown = List.of(question.getOptionA(), question.getOptionB(), question.getOptionC(), question.getOptionD());
+			selectedCorrect.put(question.getId(), question.getOptionOrder().get(shown.indexOf(correctText)));
+		}
+		assertThat(questions).allSatisfy(question ->
+				assertThat(selectedCorrect.get(question.getId())).isEqualTo(question.getCorrectOption()));
+
+		int expectedScore = 0;
+		for (Question question : questions) {
+			boolean correct = question.getId() % 2 == 0;
+			int option = selectedCorrect.get(question.getId());
+			AnswerDTO saved = select(attempt.getId(), question.getId(), correct ? option : option % 4 + 1);
+			assertThat(saved.getCorrectOption()).isEqualTo(question.getCorrectOption());
+			expectedScore += correct ? question.getPoints() : 0;
+		}
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+		AttemptDTO submitted = attemptService.submitAttempt(attempt.getId(), false);
+
+		assertThat(submitted.getScore()).isEqualTo(expectedScore).isPositive();
+		assertThat(submitted.getAnswers()).allSatisfy(answer ->
+				assertThat(answer.getIsCorrect()).isEqualTo(answer.getQuestionId() % 2 == 0));
+		assertThat(statistics.getPrepareStatementCount()).isLessThan(12);
+	}
+
+	@Test
+	void answersNumberedLikeTheAssignmentDetailAreGradedCorrectly() {
+		Assignment assignment = fixtures.createOpenAssignment(10);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+
+		// A client that shows GET /api/assignments/{id} (not shuffled) selects by that response's positions
+		AssignmentDTO detail = assignmentService.getAssignmentById(assignment.getId());
+		int expectedScore = 0;
+		for (QuestionDTO question : detail.getQuestions()) {
+			Question stored = assignment.getQuestions().stream()
+					.filter(q -> q.getId().equals(question.getId())).findFirst().orElseThrow();
+			String correctText = "ABCD".substring(stored.getCorrectOption() - 1, stored.getCorrectOption());
+			List<String> shown = List.of(question.getOptionA(), question.getOptionB(), question.getOptionC(), question.getOptionD());
+			select(attempt.getId(), question.getId(), shown.indexOf(correctText) + 1);
+			expectedScore += stored.getPoints();
+		}
+
+		assertThat(attemptService.submitAttempt(attempt.getId(), false).getScore()).isEqualTo(expectedScore);
+	}
+
+	private AnswerDTO select(Long attemptId, Long questionId, Integer option) {
+		SubmitAnswerDTO submit = new SubmitAnswerDTO();
+		submit.setQuestionId(questionId);
+		submit.setSelectedAnswer(option);
+		return attemptService.submitAnswer(attemptId, submit);
+	}
+
+	private List<Long> ids(List<QuestionDTO> questions) {
+		return questions.stream().map(QuestionDTO::getId).toList();
+	}
+}
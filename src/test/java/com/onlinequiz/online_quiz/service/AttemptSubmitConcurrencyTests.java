@@ -0,0 +1,151 @@
+package com.onlinequiz.online_quiz.service;
+
+import com.onlinequiz.online_quiz.TestFixtures;
+import com.onlinequiz.online_quiz.dto.AnswerDTO;
+import com.onlinequiz.online_quiz.dto.AttemptDTO;
+import com.onlinequiz.online_quiz.dto.SubmitAnswerDTO;
+import com.onlinequiz.online_quiz.entity.Assignment;
+import com.onlinequiz.online_quiz.entity.Attempt;
+import com.onlinequiz.online_quiz.repository.AttemptRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Stats are flushed explicitly, so the submitted count shows how many submits scored
+@SpringBootTest(properties = "quiz.stats.flush-interval=1h")
+@Import(TestFixtures.class)
+class AttemptSubmitConcurrencyTests {
+
+	private static final int THREADS = 8;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private AttemptService attemptService;
+
+	@Autowired
+	private AttemptRepository attemptRepository;
+
+	@Autowired
+	private AssignmentStatsBuffer assignmentStatsBuffer;
+
+	@Autowired
+	private AssignmentStatsService assignmentStatsService;
+
+	@Test
+	void racingSubmitsScoreOnce() throws Exception {
+		Assignment assignment = fixtures.createOpenAssignment(20);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		answerAll(attempt);
+
+		// Student double clicks racing the expiry sweeper's auto-submit
+		List<Object> outcomes = race(thread -> () -> attemptService.submitAttempt(attempt.getId(), thread % 2 == 0));
+
+		assertThat(outcomes).filteredOn(AttemptDTO.class::isInstance).hasSize(1);
+		assertThat(outcomes).filteredOn(RuntimeException.class::isInstance).hasSize(THREADS - 1)
+				.allSatisfy(error -> assertThat((RuntimeException) error).hasMessage("Attempt is already submitted."));
+		assertSubmittedOnce(assignment);
+	}
+
+	@Test
+	void retriesWithTheSameKeyReturnTheStoredResult() throws Exception {
+		Assignment assignment = fixtures.createOpenAssignment(20);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		answerAll(attempt);
+
+		List<Object> outcomes = race(thread -> () -> attemptService.submitAttempt(attempt.getId(), false, "submit-1"));
+
+		assertThat(outcomes).hasSize(THREADS).allSatisfy(outcome -> assertThat(outcome).isInstanceOf(AttemptDTO.class));
+		AttemptDTO first = (AttemptDTO) outcomes.get(0);
+		assertThat(first.getScore()).isPositive();
+		assertThat(outcomes).allSatisfy(outcome -> assertThat(outcome).usingRecursiveComparison().isEqualTo(first));
+		assertSubmittedOnce(assignment);
+
+		AttemptDTO retried = attemptService.submitAttempt(attempt.getId(), false, "submit-1");
+		assertThat(retried).usingRecursiveComparison().isEqualTo(first);
+		assertThatThrownBy(() -> attemptService.submitAttempt(attempt.getId(), false, "submit-2"))
+				.hasMessage("Attempt is already submitted.");
+		assertThatThrownBy(() -> attemptService.submitAttempt(attempt.getId(), false))
+				.hasMessage("Attempt is already submitted.");
+	}
+
+	@Test
+	void expiredAnswerRacingSubmitAutoSubmitsOnce() throws Exception {
+		Assignment assignment = fixtures.createOpenAssignment(5);
+		AttemptDTO attempt = attemptService.startAttempt(assignment.getId());
+		Attempt entity = attemptRepository.findById(attempt.getId()).orElseThrow();
+		entity.setStartedAt(LocalDateTime.now().minusMinutes(assignment.getDuration() + 1));
+		attemptRepository.save(entity);
+		AnswerDTO answer = attempt.getAnswers().get(0);
+
+		// Half the threads answer (which auto-submits the expired attempt), half submit
+		List<Object> outcomes = race(thread -> () -> {
+			if (thread % 2 == 0) {
+				return attemptService.submitAttempt(attempt.getId(), false);
+			}
+			SubmitAnswerDTO submit = new SubmitAnswerDTO();
+			submit.setQuestionId(answer.getQuestionId());
+			submit.setSelectedAnswer(answer.getCorrectOption());
+			return attemptService.submitAnswer(attempt.getId(), submit);
+		});
+
+		assertThat(outcomes).filteredOn(AnswerDTO.class::isInstance).isEmpty();
+		assertThat(outcomes).filteredOn(AttemptDTO.class::isInstance).hasSizeLessThanOrEqualTo(1);
+		assertSubmittedOnce(assignment);
+	}
+
+	// Run one task per thread, released together; returns each task's result or exception in thread order
+	private List<Object> race(IntFunction<Callable<Object>> task) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Object>> futures = new ArrayList<>();
+		for (int thread = 0; thread < THREADS; thread++) {
+			Callable<Object> callable = task.apply(thread);
+			futures.add(executor.submit(() -> {
+				start.await();
+				return callable.call();
+			}));
+		}
+		start.countDown();
+		List<Object> outcomes = new ArrayList<>();
+		for (Future<Object> future : futures) {
+			try {
+				outcomes.add(future.get());
+			} catch (ExecutionException e) {
+				outcomes.add(e.getCause());
+			}
+		}
+		executor.shutdown();
+		return outcomes;
+	}
+
+	private void answerAll(AttemptDTO attempt) {
+		for (AnswerDTO answer : attempt.getAnswers()) {
+			SubmitAnswerDTO submit = new SubmitAnswerDTO();
+			submit.setQuestionId(answer.getQuestionId());
+			submit.setSelectedAnswer(answer.getCorrectOption());
+			attemptService.submitAnswer(attempt.getId(), submit);
+		}
+	}
+
+	private void assertSubmittedOnce(Assignment assignment) {
+		assignmentStatsBuffer.flushAll();
+		assertThat(assignmentStatsService.getStats(assignment.getId()).getSubmittedCount()).isEqualTo(1);
+	}
+}